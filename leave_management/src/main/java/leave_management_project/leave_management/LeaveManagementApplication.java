@@ -2,8 +2,10 @@ package leave_management_project.leave_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LeaveManagementApplication {
 
 	public static void main(String[] args) {
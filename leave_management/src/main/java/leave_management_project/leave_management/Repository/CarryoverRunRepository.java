@@ -0,0 +1,48 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.CarryoverRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CarryoverRunRepository extends JpaRepository<CarryoverRun, Integer> {
+
+    List<CarryoverRun> findByFinishedAtIsNull();
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO carryover_run (year, started_at, users) VALUES (:year, :now, 0) " +
+            "ON CONFLICT (year) DO NOTHING",
+            nativeQuery = true)
+    int start(@Param("year") int year, @Param("now") Instant now);
+
+    // Counted once at the end: chunks updating the run row would serialise their commits on its lock
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE carryover_run SET finished_at = :now, " +
+            "users = (SELECT COUNT(*) FROM carryover_applied a WHERE a.year = :year) WHERE year = :year",
+            nativeQuery = true)
+    int finish(@Param("year") int year, @Param("now") Instant now);
+
+    // Marks the users done for the year and returns those not done before; concurrent claims wait on the row
+    @Query(value = "INSERT INTO carryover_applied (year, user_id, applied_at) " +
+            "SELECT :year, b.user_id, :now FROM (SELECT DISTINCT user_id FROM leave_balance " +
+            "WHERE user_id IN (:userIds)) b " +
+            "ON CONFLICT (year, user_id) DO NOTHING RETURNING user_id",
+            nativeQuery = true)
+    List<UUID> claim(@Param("year") int year, @Param("userIds") Collection<UUID> userIds, @Param("now") Instant now);
+
+    // Next page of users with balances, in user_id order, skipping those already done for the year
+    @Query(value = "SELECT DISTINCT b.user_id FROM leave_balance b WHERE b.user_id > :after " +
+            "AND NOT EXISTS (SELECT 1 FROM carryover_applied a WHERE a.year = :year AND a.user_id = b.user_id) " +
+            "ORDER BY b.user_id LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findUsersToCarryOver(@Param("year") int year, @Param("after") UUID after, @Param("limit") int limit);
+}
@@ -0,0 +1,23 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    @Query(value = "SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit", nativeQuery = true)
+    List<UUID> findDueIds(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Rows locked by another worker are skipped rather than waited on
+    @Query(value = "SELECT * FROM email_outbox WHERE id IN (:ids) AND status = 'PENDING' " +
+            "AND next_attempt_at <= :now FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+}
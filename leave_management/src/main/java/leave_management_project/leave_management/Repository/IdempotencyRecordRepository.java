@@ -0,0 +1,34 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 1 when this request owns the key; waits while another transaction holds it uncommitted
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record (scoped_key, request_hash, created_at) " +
+            "VALUES (:scopedKey, :requestHash, :now) ON CONFLICT (scoped_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(@Param("scopedKey") String scopedKey,
+              @Param("requestHash") String requestHash,
+              @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.leaveId = :leaveId WHERE r.scopedKey = :scopedKey")
+    int attachLeave(@Param("scopedKey") String scopedKey, @Param("leaveId") UUID leaveId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,92 @@
+package leave_management_project.leave_management.Repository;
+
+import jakarta.persistence.QueryHint;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveBalance;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, UUID> {
+
+    List<LeaveBalance> findByUserId(UUID userId);
+
+    // Creates a row with its default balance; returns 0 if a concurrent request created it first
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_balance (id, user_id, type, balance, carryover) " +
+            "VALUES (gen_random_uuid(), :userId, :type, :balance, 0) ON CONFLICT (user_id, type) DO NOTHING",
+            nativeQuery = true)
+    int seed(@Param("userId") UUID userId,
+             @Param("type") String type,
+             @Param("balance") double balance);
+
+    // Relative updates commute, so concurrent writers never overwrite each other's changes
+    @Transactional
+    @Modifying
+    @Query("UPDATE LeaveBalance b SET b.balance = b.balance + :delta, b.version = b.version + 1 " +
+            "WHERE b.userId = :userId AND b.type = :type")
+    int addToBalance(@Param("userId") UUID userId,
+                     @Param("type") LeaveType type,
+                     @Param("delta") double delta);
+
+    // Deducts only if the committed balance covers it; 0 means another instance spent the days first.
+    // The row lock is held until commit, so concurrent deductions on any instance are checked one after another
+    @Transactional
+    @Modifying
+    @Query("UPDATE LeaveBalance b SET b.balance = b.balance - :days, b.version = b.version + 1 " +
+            "WHERE b.userId = :userId AND b.type = :type AND b.balance >= :days")
+    int deductFromBalance(@Param("userId") UUID userId,
+                          @Param("type") LeaveType type,
+                          @Param("days") double days);
+
+    // Sets an absolute balance and returns the one it replaced, read under the row lock; empty if the row is missing
+    @Transactional
+    @Query(value = "UPDATE leave_balance b SET balance = :balance, version = b.version + 1 " +
+            "FROM (SELECT id, balance FROM leave_balance WHERE user_id = :userId AND type = :type FOR UPDATE) old " +
+            "WHERE b.id = old.id RETURNING old.balance",
+            nativeQuery = true)
+    Optional<Double> replaceBalance(@Param("userId") UUID userId,
+                                    @Param("type") String type,
+                                    @Param("balance") double balance);
+
+    // Year-end carryover for a chunk of users: part of the unused balance moves to carryover, the rest lapses
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE leave_balance SET carryover = carryover + LEAST(GREATEST(balance, 0) * :fraction, :cap), " +
+            "balance = 0, version = version + 1 WHERE type = :type AND user_id IN (:userIds)",
+            nativeQuery = true)
+    int carryOver(@Param("userIds") Collection<UUID> userIds,
+                  @Param("type") String type,
+                  @Param("fraction") double fraction,
+                  @Param("cap") double cap);
+
+    // Every row as an unmanaged copy, for comparing against a replay of the event log
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new leave_management_project.leave_management.model.LeaveBalance(" +
+            "b.id, b.userId, b.type, b.balance, b.carryover, b.version) FROM LeaveBalance b")
+    Stream<LeaveBalance> streamAll();
+
+    // Sets a row to replayed values, creating it if it is missing
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_balance (id, user_id, type, balance, carryover) " +
+            "VALUES (gen_random_uuid(), :userId, :type, :balance, :carryover) " +
+            "ON CONFLICT (user_id, type) DO UPDATE SET balance = EXCLUDED.balance, carryover = EXCLUDED.carryover, " +
+            "version = leave_balance.version + 1",
+            nativeQuery = true)
+    int overwrite(@Param("userId") UUID userId,
+                  @Param("type") String type,
+                  @Param("balance") double balance,
+                  @Param("carryover") double carryover);
+}
@@ -0,0 +1,51 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.LeaveDaysTaken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface LeaveDaysTakenRepository extends JpaRepository<LeaveDaysTaken, UUID> {
+
+    // At most one row per type
+    List<LeaveDaysTaken> findByUserIdAndYear(UUID userId, int year);
+
+    // Relative upsert, like LeaveBalanceRepository.addToBalance
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_days_taken (id, user_id, leave_year, type, days) " +
+            "VALUES (gen_random_uuid(), :userId, :year, :type, :days) " +
+            "ON CONFLICT (user_id, leave_year, type) DO UPDATE SET days = leave_days_taken.days + EXCLUDED.days",
+            nativeQuery = true)
+    int addDays(@Param("userId") UUID userId,
+                @Param("year") int year,
+                @Param("type") String type,
+                @Param("days") double days);
+
+    // Recomputes approved days from the table, for writes that bypass the incremental path
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_days_taken (id, user_id, leave_year, type, days) " +
+            "SELECT gen_random_uuid(), user_id, CAST(EXTRACT(YEAR FROM start_date) AS integer), type, " +
+            "SUM(COALESCE(working_days, end_date - start_date + 1)) FROM leaves " +
+            "WHERE status = 'APPROVED' AND user_id IN (:userIds) " +
+            "GROUP BY user_id, CAST(EXTRACT(YEAR FROM start_date) AS integer), type " +
+            "ON CONFLICT (user_id, leave_year, type) DO UPDATE SET days = EXCLUDED.days",
+            nativeQuery = true)
+    int recount(@Param("userIds") Collection<UUID> userIds);
+
+    // recount only upserts the (user, year, type) groups that still have approved leaves; drops the rest
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM leave_days_taken d WHERE d.user_id IN (:userIds) AND NOT EXISTS (" +
+            "SELECT 1 FROM leaves l WHERE l.status = 'APPROVED' AND l.user_id = d.user_id AND l.type = d.type " +
+            "AND CAST(EXTRACT(YEAR FROM l.start_date) AS integer) = d.leave_year)",
+            nativeQuery = true)
+    int deleteUncounted(@Param("userIds") Collection<UUID> userIds);
+}
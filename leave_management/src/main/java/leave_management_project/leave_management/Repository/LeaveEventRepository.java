@@ -0,0 +1,46 @@
+package leave_management_project.leave_management.Repository;
+
+import jakarta.persistence.QueryHint;
+import leave_management_project.leave_management.model.LeaveEvent;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface LeaveEventRepository extends JpaRepository<LeaveEvent, Long> {
+
+    List<LeaveEvent> findByLeaveIdOrderByTxIdAscSeqAsc(UUID leaveId);
+
+    // Replay order over the transactions in [fromTx, toTx); unmanaged copies, so the context stays empty
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new leave_management_project.leave_management.model.LeaveEvent(" +
+            "e.seq, e.txId, e.occurredAt, e.type, e.userId, e.leaveId, e.leaveType, e.balanceDelta, e.carryoverDelta) " +
+            "FROM LeaveEvent e WHERE e.txId >= :fromTx AND e.txId < :toTx ORDER BY e.txId, e.seq")
+    Stream<LeaveEvent> streamForReplay(@Param("fromTx") long fromTx, @Param("toTx") long toTx);
+
+    // Every transaction with a lower id has committed or rolled back, so its events are final
+    @Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long currentTxHorizon();
+
+    // What LeaveBalanceRepository.carryOver is about to do; locks the rows so the UPDATE that follows sees the same balances
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_event (seq, occurred_at, event_type, user_id, leave_type, balance_delta, carryover_delta) " +
+            "SELECT nextval('leave_event_seq'), now(), 'CARRIED_OVER', b.user_id, b.type, -b.balance, " +
+            "LEAST(GREATEST(b.balance, 0) * :fraction, :cap) " +
+            "FROM (SELECT user_id, type, balance FROM leave_balance WHERE type = :type AND user_id IN (:userIds) " +
+            "FOR UPDATE) b",
+            nativeQuery = true)
+    int appendCarriedOver(@Param("userIds") Collection<UUID> userIds,
+                          @Param("type") String type,
+                          @Param("fraction") double fraction,
+                          @Param("cap") double cap);
+}
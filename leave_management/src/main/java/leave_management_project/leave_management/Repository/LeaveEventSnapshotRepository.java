@@ -0,0 +1,32 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.LeaveEventSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface LeaveEventSnapshotRepository extends JpaRepository<LeaveEventSnapshot, Long> {
+
+    Optional<LeaveEventSnapshot> findFirstByOrderByTxHorizonDesc();
+
+    // Two instances may snapshot the same horizon; the second one is a no-op
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_event_snapshot (tx_horizon, taken_at, events, state) " +
+            "VALUES (:txHorizon, :takenAt, :events, :state) ON CONFLICT (tx_horizon) DO NOTHING",
+            nativeQuery = true)
+    int insert(@Param("txHorizon") long txHorizon,
+               @Param("takenAt") Instant takenAt,
+               @Param("events") long events,
+               @Param("state") byte[] state);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LeaveEventSnapshot s WHERE s.txHorizon < :txHorizon")
+    int deleteOlderThan(@Param("txHorizon") long txHorizon);
+}
@@ -1,27 +1,114 @@
 package leave_management_project.leave_management.Repository;
 
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import leave_management_project.leave_management.dto.LeaveExportRow;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
 import leave_management_project.leave_management.enumClass.LeaveStatus;
 import leave_management_project.leave_management.model.Leave;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface LeaveRepository extends JpaRepository<Leave, UUID> {
+public interface LeaveRepository extends JpaRepository<Leave, UUID>, LeaveRepositoryCustom {
 
     List<Leave> findByStartDateBetween(LocalDate from, LocalDate to);
 
-    List<Leave> findByUserId(UUID userId);
+    // List views: only the LeaveListItem columns are selected
+    List<LeaveListItem> findItemsByUserIdOrderByStartDateAsc(UUID userId);
 
-    @Query("SELECT l FROM Leave l WHERE l.status = :status AND " +
-            "(l.startDate <= :endDate AND l.endDate >= :startDate)")
+    List<LeaveListItem> findItemsByOrderByStartDateAsc();
+
+    // A user's next leave, read through idx_leaves_user_start without touching leave_summary
+    Optional<LeaveListItem> findFirstItemByUserIdAndStatusInAndStartDateGreaterThanEqualOrderByStartDateAscIdAsc(
+            UUID userId, Collection<LeaveStatus> statuses, LocalDate from);
+
+    // Written as a range overlap so it can use the GiST index on daterange(start_date, end_date)
+    @Query(value = "SELECT * FROM leaves WHERE status = :#{#status.name()} AND " +
+            "daterange(start_date, end_date, '[]') && daterange(:startDate, :endDate, '[]')",
+            nativeQuery = true)
     List<Leave> findByStatusAndDateRange(@Param("status") LeaveStatus status,
                                          @Param("startDate") LocalDate startDate,
                                          @Param("endDate") LocalDate endDate);
 
+    // Unmanaged projections, so a full scan does not fill the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new leave_management_project.leave_management.dto.LeaveIntervalDto(" +
+            "l.id, l.userId, l.type, l.startDate, l.endDate) FROM Leave l WHERE l.status = :status")
+    Stream<LeaveIntervalDto> streamIntervalsByStatus(@Param("status") LeaveStatus status);
+
+    // One user's leaves in the given statuses, for LeaveConflictIndex; served by idx_leaves_user_start
+    @Query("SELECT new leave_management_project.leave_management.dto.LeaveIntervalDto(" +
+            "l.id, l.userId, l.type, l.startDate, l.endDate) FROM Leave l " +
+            "WHERE l.userId = :userId AND l.status IN :statuses")
+    List<LeaveIntervalDto> findIntervalsByUserIdAndStatusIn(@Param("userId") UUID userId,
+                                                            @Param("statuses") Collection<LeaveStatus> statuses);
+
+    @Query("SELECT new leave_management_project.leave_management.dto.LeaveIntervalDto(" +
+            "l.id, l.userId, l.type, l.startDate, l.endDate) FROM Leave l " +
+            "WHERE l.id IN :ids AND l.status = :status")
+    List<LeaveIntervalDto> findIntervalsByIdInAndStatus(@Param("ids") Collection<UUID> ids,
+                                                        @Param("status") LeaveStatus status);
+
+    // Every leave in table order for LeaveExportService; unmanaged rows fetched 10k at a time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new leave_management_project.leave_management.dto.LeaveExportRow(" +
+            "l.id, l.userId, l.type, l.status, l.startDate, l.endDate, l.workingDays) FROM Leave l")
+    Stream<LeaveExportRow> streamExportRows();
+
+    @Query("SELECT l.status FROM Leave l WHERE l.id = :id")
+    Optional<LeaveStatus> findStatusById(@Param("id") UUID id);
+
+    // id, userId and status of every leave, for comparing against a replay of the event log
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT l.id, l.userId, l.status FROM Leave l")
+    Stream<Object[]> streamStatuses();
+
+    // Backs the leaves.by.status gauge: one row per status present
+    @Query("SELECT l.status, COUNT(l) FROM Leave l GROUP BY l.status")
+    List<Object[]> countByStatus();
+
+    // Locked so a concurrent single or bulk decision cannot act on the same leaves
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Leave> findByIdInAndStatus(Collection<UUID> ids, LeaveStatus status);
+
+    // Decides one PENDING leave and returns it in the same round trip; empty when it is missing or
+    // already decided. A concurrent decision on the row waits for this one and then finds it decided.
+    @Query(value = "UPDATE leaves SET status = :#{#status.name()}, manager_comment = :comment, version = version + 1 " +
+            "WHERE id = :id AND status = 'PENDING' RETURNING *", nativeQuery = true)
+    Optional<Leave> decidePending(@Param("id") UUID id,
+                                  @Param("status") LeaveStatus status,
+                                  @Param("comment") String comment);
+
+    // One UPDATE for a whole bulk decision; the status guard keeps it from touching decided leaves
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Leave l SET l.status = :status, l.managerComment = :comment, l.version = l.version + 1 " +
+            "WHERE l.id IN :ids AND l.status = :expected")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("expected") LeaveStatus expected,
+                     @Param("status") LeaveStatus status,
+                     @Param("comment") String comment);
+
+    // Sets replayed statuses; only used when rebuilding from the event log
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Leave l SET l.status = :status, l.version = l.version + 1 WHERE l.id IN :ids")
+    int overwriteStatus(@Param("ids") Collection<UUID> ids, @Param("status") LeaveStatus status);
+
 }
 
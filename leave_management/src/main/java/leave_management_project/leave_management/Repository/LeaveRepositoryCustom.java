@@ -0,0 +1,18 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.dto.LeaveFilterDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface LeaveRepositoryCustom {
+
+    // Keyset page ordered by (startDate, id), starting strictly after the given key when present
+    List<LeaveListItem> findPage(LeaveFilterDto filter, LocalDate afterStartDate, UUID afterId, int limit);
+
+    // Cursor ordered by (startDate, id); must be consumed inside a transaction and closed
+    Stream<LeaveListItem> streamFiltered(LeaveFilterDto filter, int fetchSize);
+}
@@ -0,0 +1,78 @@
+package leave_management_project.leave_management.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import leave_management_project.leave_management.dto.LeaveFilterDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeaveListRow;
+import leave_management_project.leave_management.model.Leave;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class LeaveRepositoryImpl implements LeaveRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LeaveListItem> findPage(LeaveFilterDto filter, LocalDate afterStartDate, UUID afterId, int limit) {
+        return Collections.unmodifiableList(orderedQuery(filter, afterStartDate, afterId)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    public Stream<LeaveListItem> streamFiltered(LeaveFilterDto filter, int fetchSize) {
+        return orderedQuery(filter, null, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .map(LeaveListItem.class::cast);
+    }
+
+    // Selects only the list columns, so no Leave entities are hydrated or kept in the persistence context
+    private TypedQuery<LeaveListRow> orderedQuery(LeaveFilterDto filter, LocalDate afterStartDate, UUID afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeaveListRow> query = cb.createQuery(LeaveListRow.class);
+        Root<Leave> leave = query.from(Leave.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(leave.get("userId"), filter.getUserId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(leave.get("status"), filter.getStatus()));
+        }
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(leave.get("type"), filter.getType()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(leave.get("startDate"), filter.getTo()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(leave.get("endDate"), filter.getFrom()));
+        }
+        if (afterStartDate != null && afterId != null) {
+            Path<LocalDate> startDate = leave.get("startDate");
+            Path<UUID> id = leave.get("id");
+            predicates.add(cb.or(
+                    cb.greaterThan(startDate, afterStartDate),
+                    cb.and(cb.equal(startDate, afterStartDate), cb.greaterThan(id, afterId))
+            ));
+        }
+
+        query.select(cb.construct(LeaveListRow.class,
+                        leave.get("id"), leave.get("userId"), leave.get("type"), leave.get("status"),
+                        leave.get("startDate"), leave.get("endDate"), leave.get("workingDays")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(leave.get("startDate")), cb.asc(leave.get("id")));
+        return entityManager.createQuery(query);
+    }
+}
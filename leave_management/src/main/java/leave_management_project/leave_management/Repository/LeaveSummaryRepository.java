@@ -0,0 +1,84 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.LeaveSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface LeaveSummaryRepository extends JpaRepository<LeaveSummary, UUID> {
+
+    // Creates the row on a user's first leave; relative, so concurrent requests never lose a count
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO leave_summary (user_id, pending_count) VALUES (:userId, GREATEST(:delta, 0)) " +
+            "ON CONFLICT (user_id) DO UPDATE SET pending_count = GREATEST(leave_summary.pending_count + :delta, 0)",
+            nativeQuery = true)
+    int addToPending(@Param("userId") UUID userId, @Param("delta") int delta);
+
+    // Takes the new leave as next unless a recorded, still upcoming leave starts no later
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE leave_summary SET next_leave_id = :leaveId, next_start_date = :startDate, " +
+            "next_end_date = :endDate, next_type = :type, next_status = :status " +
+            "WHERE user_id = :userId AND (next_start_date IS NULL OR " +
+            "(next_start_date >= :today AND next_start_date > :startDate))",
+            nativeQuery = true)
+    int offerNext(@Param("userId") UUID userId,
+                  @Param("leaveId") UUID leaveId,
+                  @Param("startDate") LocalDate startDate,
+                  @Param("endDate") LocalDate endDate,
+                  @Param("type") String type,
+                  @Param("status") String status,
+                  @Param("today") LocalDate today);
+
+    // Looks the next leave up again for each user; one idx_leaves_user_start probe per user
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE leave_summary s SET next_leave_id = n.id, next_start_date = n.start_date, " +
+            "next_end_date = n.end_date, next_type = n.type, next_status = n.status " +
+            "FROM leave_summary u LEFT JOIN LATERAL (" +
+            "SELECT l.id, l.start_date, l.end_date, l.type, l.status FROM leaves l " +
+            "WHERE l.user_id = u.user_id AND l.status IN ('PENDING', 'APPROVED') AND l.start_date >= :today " +
+            "ORDER BY l.start_date, l.id LIMIT 1) n ON true " +
+            "WHERE s.user_id = u.user_id AND u.user_id IN (:userIds)",
+            nativeQuery = true)
+    int refreshNext(@Param("userIds") Collection<UUID> userIds, @Param("today") LocalDate today);
+
+    // Moves every next leave that has started on to the following one; run daily so reads stay read-only
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE leave_summary s SET next_leave_id = n.id, next_start_date = n.start_date, " +
+            "next_end_date = n.end_date, next_type = n.type, next_status = n.status " +
+            "FROM leave_summary u LEFT JOIN LATERAL (" +
+            "SELECT l.id, l.start_date, l.end_date, l.type, l.status FROM leaves l " +
+            "WHERE l.user_id = u.user_id AND l.status IN ('PENDING', 'APPROVED') AND l.start_date >= :today " +
+            "ORDER BY l.start_date, l.id LIMIT 1) n ON true " +
+            "WHERE s.user_id = u.user_id AND u.next_start_date < :today",
+            nativeQuery = true)
+    int refreshStarted(@Param("today") LocalDate today);
+
+    // Recounts pending leaves from the table, for writes that bypass the incremental path
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_summary (user_id, pending_count) " +
+            "SELECT user_id, COUNT(*) FILTER (WHERE status = 'PENDING') FROM leaves " +
+            "WHERE user_id IN (:userIds) GROUP BY user_id " +
+            "ON CONFLICT (user_id) DO UPDATE SET pending_count = EXCLUDED.pending_count",
+            nativeQuery = true)
+    int recountPending(@Param("userIds") Collection<UUID> userIds);
+
+    // recountPending only sees users that still have leaves; zeroes the rest
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE leave_summary s SET pending_count = 0 " +
+            "WHERE s.user_id IN (:userIds) AND s.pending_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM leaves l WHERE l.user_id = s.user_id)",
+            nativeQuery = true)
+    int clearPendingWithoutLeaves(@Param("userIds") Collection<UUID> userIds);
+}
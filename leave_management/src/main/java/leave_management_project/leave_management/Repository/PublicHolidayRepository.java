@@ -1,12 +1,23 @@
 package leave_management_project.leave_management.Repository;
 
+import jakarta.persistence.QueryHint;
+import leave_management_project.leave_management.config.CacheRegions;
 import leave_management_project.leave_management.model.PublicHoliday;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, UUID> {
+    // Cached per date argument; evicted explicitly when a holiday is added
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.UPCOMING_HOLIDAYS)
+    })
     List<PublicHoliday> findByDateAfterOrderByDateAsc(LocalDate date);
+
+    List<PublicHoliday> findByDateBetween(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,24 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.model.StoredDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface StoredDocumentRepository extends JpaRepository<StoredDocument, String> {
+
+    // Creates the row on first upload; later uploads of the same content find it there
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_document (hash, size, content_type, created_at) " +
+            "VALUES (:hash, :size, :contentType, :createdAt) ON CONFLICT (hash) DO NOTHING",
+            nativeQuery = true)
+    int register(@Param("hash") String hash,
+                 @Param("size") long size,
+                 @Param("contentType") String contentType,
+                 @Param("createdAt") Instant createdAt);
+}
@@ -1,13 +1,27 @@
 package leave_management_project.leave_management.Repository;
 
+import jakarta.persistence.QueryHint;
+import leave_management_project.leave_management.config.CacheRegions;
+import leave_management_project.leave_management.dto.UserRoleView;
 import leave_management_project.leave_management.model.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // Query cache maps email -> id; the User itself comes from the entity cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USER_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
+
+    List<UserRoleView> findByIdIn(Collection<UUID> ids);
 }
@@ -0,0 +1,63 @@
+package leave_management_project.leave_management.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead around a slow {@link PasswordEncoder}: at most {@code maxConcurrent} hashes run at
+ * once, and a caller that cannot get a slot within {@code maxWait} is shed with
+ * {@link TooManyRequestsException} instead of queueing. A burst of logins then costs a bounded
+ * share of the CPU, whatever the per-key rate limits let through.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore slots;
+    private final Duration maxWait;
+    private final Runnable onRejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, RateLimitProperties.Bcrypt limits, Runnable onRejected) {
+        this.delegate = delegate;
+        this.slots = new Semaphore(limits.getMaxConcurrent());
+        this.maxWait = limits.getMaxWait();
+        this.onRejected = onRejected;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bounded(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bounded(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T bounded(Supplier<T> work) {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Server busy, try again", Duration.ofSeconds(1));
+        }
+        if (!acquired) {
+            onRejected.run();
+            throw new TooManyRequestsException("Server busy, try again", Duration.ofSeconds(1));
+        }
+        try {
+            return work.get();
+        } finally {
+            slots.release();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package leave_management_project.leave_management.config;
+
+// Hibernate cache regions; sizes and expiry are set in application.conf.
+// Caffeine resolves each name as a config path, so names must not contain dots.
+public final class CacheRegions {
+
+    public static final String USER = "user";
+    public static final String PUBLIC_HOLIDAY = "public-holiday";
+    public static final String UPCOMING_HOLIDAYS = "query-upcoming-holidays";
+    public static final String USER_BY_EMAIL = "query-user-by-email";
+
+    private CacheRegions() {
+    }
+}
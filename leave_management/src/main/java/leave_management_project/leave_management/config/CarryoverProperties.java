@@ -0,0 +1,29 @@
+package leave_management_project.leave_management.config;
+
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "carryover")
+public class CarryoverProperties {
+
+    private boolean enabled = true;          // false leaves the yearly job (and startup resume) off
+    private String cron = "0 30 0 1 1 *";    // Carries the previous year over; server time zone
+    private int chunkSize = 1000;            // Users per transaction
+    private int parallelism = 4;             // Chunks in flight; each holds a pooled connection
+
+    // Types without a rule keep their balance
+    private Map<LeaveType, Rule> rules = new EnumMap<>(Map.of(LeaveType.ANNUAL, new Rule()));
+
+    @Data
+    public static class Rule {
+        private double fraction = 0.1;       // Share of the unused balance carried over
+        private Double cap;                  // Most days carried over; null for no cap
+    }
+}
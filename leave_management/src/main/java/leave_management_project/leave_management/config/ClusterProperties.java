@@ -0,0 +1,17 @@
+package leave_management_project.leave_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;                        // Broadcast cache invalidations to other instances
+    private String channel = "leave_cache";                 // Postgres LISTEN/NOTIFY channel shared by all instances
+    private Duration reconnectDelay = Duration.ofSeconds(5); // Wait before the listener reconnects after losing its connection
+}
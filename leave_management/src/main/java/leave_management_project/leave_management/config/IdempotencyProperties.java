@@ -0,0 +1,18 @@
+package leave_management_project.leave_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private Duration ttl = Duration.ofHours(24);       // How long a key replays its first response
+    private long maxKeys = 100_000;                    // In-memory keys kept; beyond this the coldest are evicted
+    private Duration waitTimeout = Duration.ofSeconds(30); // How long a duplicate waits for the first request
+    private boolean persistent = false;                // Also record keys in idempotency_record (multi-instance)
+}
@@ -1,29 +1,32 @@
 package leave_management_project.leave_management.config;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
-    // Secret key must match Auth Service
-    private final SecretKey key = Keys.hmacShaKeyFor("my-very-strong-shared-secret-key-for-jwt".getBytes());
+    // Shared parser and verified-token cache; the key must match Auth Service
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtFilter(JwtTokenVerifier jwtTokenVerifier, MeterRegistry meterRegistry) {
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.validTokens = verifyTimer(meterRegistry, "valid");
+        this.invalidTokens = verifyTimer(meterRegistry, "invalid");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -40,35 +43,20 @@ public class JwtFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7); // remove "Bearer "
 
+        long started = System.nanoTime();
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            // Extract role
-            String role = claims.get("role", String.class);
-
-            // Convert role to Spring Security authority
-            List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
-            // Create authentication token
-            UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(
-                            claims.getSubject(), // userId
-                            null,
-                            authorities
-                    );
+            JwtTokenVerifier.VerifiedToken verified = jwtTokenVerifier.verify(token);
+            validTokens.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
             // Set authentication in SecurityContext
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+            SecurityContextHolder.getContext().setAuthentication(verified.authentication());
 
             // Optional: set attributes for controllers
-            request.setAttribute("userId", UUID.fromString(claims.getSubject()));
-            request.setAttribute("role", role);
+            request.setAttribute("userId", UUID.fromString(verified.subject()));
+            request.setAttribute("role", verified.role());
 
         } catch (Exception e) {
+            invalidTokens.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid or expired JWT token");
             return;
@@ -76,4 +64,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("Bearer token verification, including cache hits")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
 }
@@ -0,0 +1,110 @@
+package leave_management_project.leave_management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Verifies bearer tokens with a single shared parser and remembers the verified claims until the
+ * token expires, so a token seen before costs one SHA-256 instead of a full parse and HMAC check.
+ * Entries are keyed by the token's hash, never by the token itself. Only immutable claims are
+ * cached; each request gets its own {@link UsernamePasswordAuthenticationToken}, since the
+ * security context may mutate it.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(JwtUtils.getKey())
+            .build();
+
+    // Each entry lives until its token expires; past the bound, Caffeine evicts the least used
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenVerifier(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.cache = maxEntries <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.<String, VerifiedToken>creating((key, verified) ->
+                        Duration.ofMillis(verified.expiresAtMillis() - System.currentTimeMillis())))
+                .build();
+    }
+
+    public record VerifiedToken(String subject,
+                                String role,
+                                long expiresAtMillis,
+                                List<GrantedAuthority> authorities) {
+
+        // A new token on every call: the cached claims are shared across requests and threads, this is not
+        public UsernamePasswordAuthenticationToken authentication() {
+            return new UsernamePasswordAuthenticationToken(subject, null, authorities);
+        }
+    }
+
+    // Throws a JwtException when the token is malformed, forged or expired
+    public VerifiedToken verify(String token) {
+        if (cache == null) {
+            return parse(token);
+        }
+
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token);
+        if (verified.expiresAtMillis() != Long.MAX_VALUE) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public int size() {
+        if (cache == null) return 0;
+        cache.cleanUp();
+        return (int) cache.estimatedSize();
+    }
+
+    // Caffeine drops expired entries as it is used; this also clears them while the service is idle
+    @Scheduled(fixedDelayString = "${jwt.cache.purge-interval:60000}")
+    public void purgeExpired() {
+        if (cache != null) {
+            cache.cleanUp();
+        }
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String role = claims.get("role", String.class);
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), role,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package leave_management_project.leave_management.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.service.ApprovedLeaveIndex;
+import leave_management_project.leave_management.service.LeaveBalanceLedger;
+import leave_management_project.leave_management.service.LeaveChangeBus;
+import leave_management_project.leave_management.service.LeaveConflictIndex;
+import leave_management_project.leave_management.service.NotificationDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges over the in-memory caches and the leave backlog. Leave counts per status come from
+ * one GROUP BY refreshed on a schedule, so scrapes never hit the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveMetrics implements MeterBinder {
+
+    private final LeaveRepository leaveRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final LeaveConflictIndex leaveConflictIndex;
+    private final NotificationDispatcher notificationDispatcher;
+    private final LeaveChangeBus leaveChangeBus;
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    private final Map<LeaveStatus, AtomicLong> leavesByStatus = zeroPerStatus();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("leave.balance.cache.size", leaveBalanceLedger, LeaveBalanceLedger::size)
+                .description("Users whose balances are cached in memory")
+                .register(registry);
+        Gauge.builder("leave.approved.index.size", approvedLeaveIndex, ApprovedLeaveIndex::size)
+                .description("Approved leaves in the in-memory overlap index")
+                .register(registry);
+        Gauge.builder("leave.conflict.index.users", leaveConflictIndex, LeaveConflictIndex::size)
+                .description("Users whose active leaves are held for overlap checks")
+                .register(registry);
+        Gauge.builder("mail.queue.size", notificationDispatcher, NotificationDispatcher::queueSize)
+                .description("Outbox entries waiting for a mail worker")
+                .register(registry);
+        Gauge.builder("leave.stream.subscribers", leaveChangeBus, LeaveChangeBus::subscriberCount)
+                .description("Open Server-Sent Events streams")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", jwtTokenVerifier, JwtTokenVerifier::size)
+                .description("Verified tokens cached until expiry")
+                .register(registry);
+
+        for (LeaveStatus status : LeaveStatus.values()) {
+            Gauge.builder("leaves.by.status", leavesByStatus.get(status), AtomicLong::get)
+                    .description("Leaves per status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.leave-status.refresh-interval:30000}")
+    public void refreshStatusCounts() {
+        Map<LeaveStatus, Long> counts = new EnumMap<>(LeaveStatus.class);
+        for (Object[] row : leaveRepository.countByStatus()) {
+            if (row[0] != null) counts.put((LeaveStatus) row[0], (Long) row[1]);
+        }
+        leavesByStatus.forEach((status, gauge) -> gauge.set(counts.getOrDefault(status, 0L)));
+    }
+
+    private static Map<LeaveStatus, AtomicLong> zeroPerStatus() {
+        Map<LeaveStatus, AtomicLong> counts = new EnumMap<>(LeaveStatus.class);
+        for (LeaveStatus status : LeaveStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+        return counts;
+    }
+}
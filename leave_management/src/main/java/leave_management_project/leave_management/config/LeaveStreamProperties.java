@@ -0,0 +1,19 @@
+package leave_management_project.leave_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stream")
+public class LeaveStreamProperties {
+
+    private Duration timeout = Duration.ofMinutes(30);          // A connection is closed after this; EventSource reconnects
+    private long heartbeatInterval = 30000;                     // Milliseconds between keep-alive comments; also detects dead connections
+    private int maxPending = 100;                               // Unsent events per subscriber before it is dropped
+    private int maxPerUser = 5;                                 // Open streams per user; the oldest is closed beyond this
+    private int senders = 4;                                    // Threads writing queued events to subscribers
+}
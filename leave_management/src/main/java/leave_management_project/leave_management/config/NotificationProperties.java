@@ -0,0 +1,23 @@
+package leave_management_project.leave_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification")
+public class NotificationProperties {
+
+    private boolean enabled = true;          // false drops mail instead of queueing it
+    private int queueCapacity = 1000;        // In-memory queue; overflow waits for the outbox poller
+    private int workers = 2;                 // Sender threads, each holding one SMTP connection per batch
+    private int batchSize = 20;              // Messages sent over a single SMTP connection
+    private int maxAttempts = 5;             // After this many failures a message is marked FAILED
+    private Duration initialBackoff = Duration.ofSeconds(5);
+    private Duration maxBackoff = Duration.ofMinutes(10);
+    private Duration lease = Duration.ofMinutes(2); // How long a claimed message is hidden from other workers
+    private long pollInterval = 30000;       // Milliseconds between outbox scans for due or retried mail
+}
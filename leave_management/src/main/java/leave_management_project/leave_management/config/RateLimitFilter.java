@@ -0,0 +1,71 @@
+package leave_management_project.leave_management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sheds requests over their endpoint group's limit with 429 before any controller work.
+ * One instance per {@link RateLimitProperties.Key}: the IP-keyed groups run before JwtFilter, so
+ * tokenless traffic such as a login burst is counted too, and the user-keyed groups run after it.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final RateLimitProperties.Key key;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, RateLimitProperties.Key key) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.key = key;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getServletPath();
+        try {
+            for (Map.Entry<String, RateLimitProperties.Group> group : properties.getGroups().entrySet()) {
+                if (group.getValue().getKey() == key
+                        && group.getValue().getPaths().stream().anyMatch(p -> pathMatcher.match(p, path))) {
+                    rateLimiter.acquire(group.getKey(), keyOf(request));
+                }
+            }
+        } catch (TooManyRequestsException e) {
+            writeTooManyRequests(response, e);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // The userId attribute is set by JwtFilter, which has already refused requests without one
+    private String keyOf(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (key == RateLimitProperties.Key.USER && userId != null) {
+            return "user:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void writeTooManyRequests(HttpServletResponse response, TooManyRequestsException e) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.getWriter().write(e.getMessage());
+    }
+}
@@ -0,0 +1,44 @@
+package leave_management_project.leave_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;          // false lets every request through (BCrypt stays bounded)
+    private long maxKeys = 100_000;          // Buckets kept in memory; idle ones expire after their period
+
+    // Endpoint groups by name; a group without paths is only applied from code (login by email)
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    @Data
+    public static class Group {
+        private List<String> paths = List.of(); // Servlet path patterns, e.g. /auth/**
+        private Key key = Key.IP;                // What a bucket is kept per
+        private int capacity = 60;               // Burst size: requests allowed at once
+        private Duration period = Duration.ofMinutes(1); // Time for an empty bucket to refill completely
+    }
+
+    public enum Key {
+        IP,   // client address; checked before JwtFilter
+        USER  // authenticated user ID; checked after JwtFilter
+    }
+
+    @Data
+    public static class Bcrypt {
+        // Hashes computed at once; the rest of the cores stay free for other requests
+        private int maxConcurrent = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        private Duration maxWait = Duration.ofMillis(200); // Wait for a slot before shedding with 429
+    }
+}
@@ -0,0 +1,80 @@
+package leave_management_project.leave_management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets per endpoint group and key (client address, user ID or email).
+ * <p>
+ * Each bucket is a single timestamp, the time at which it would be full again (the generic cell
+ * rate algorithm): taking a token moves it forward by period / capacity, and a request is refused
+ * while that would put it more than one period ahead. An acquire is one compare-and-set, so
+ * there is no lock and no refill thread. Idle buckets expire once they would have refilled.
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<String, Counter> throttled = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        Duration longest = properties.getGroups().values().stream()
+                .map(RateLimitProperties.Group::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(longest)
+                .build();
+    }
+
+    // Takes a token for the key in the group, or throws with the time until one is free
+    public void acquire(String group, String key) {
+        RateLimitProperties.Group limits = properties.getGroups().get(group);
+        if (!properties.isEnabled() || limits == null || key == null) return;
+
+        long period = limits.getPeriod().toNanos();
+        long interval = period / Math.max(1, limits.getCapacity());
+        AtomicLong fullAt = buckets.get(group + ':' + key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + interval;
+            if (next - now > period) {
+                throttled(group).increment();
+                throw new TooManyRequestsException("Too many requests",
+                        Duration.ofNanos(next - now - period));
+            }
+            if (fullAt.compareAndSet(current, next)) return;
+        }
+    }
+
+    // Counts a request shed under the given limit; also used by the BCrypt bulkhead
+    Counter throttled(String limit) {
+        return throttled.computeIfAbsent(limit, l -> Counter.builder("rate.limit.throttled")
+                .description("Requests refused with 429")
+                .tag("limit", l)
+                .register(meterRegistry));
+    }
+}
@@ -1,6 +1,9 @@
 package leave_management_project.leave_management.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -19,7 +22,9 @@ public class SecurityConfig {
     private final JwtFilter jwtFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   RateLimitFilter addressRateLimitFilter,
+                                                   RateLimitFilter userRateLimitFilter) throws Exception {
 
         http
                 // Disable CSRF for stateless JWT APIs
@@ -32,19 +37,60 @@ public class SecurityConfig {
 
                 // Define endpoint access rules
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Completion of SSE and streamed responses, already authorized
                         .requestMatchers("/auth/**").permitAll()        // Public endpoints (login, signup)
                         .requestMatchers("/leave/**").authenticated()   // Any authenticated user
                         .anyRequest().authenticated()                   // All other endpoints require authentication
                 )
 
                 // Add JWT filter before Spring Security's username/password filter
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Per-address limits before JWT, so requests without a token are counted too;
+                // per-user limits after it, once the user is known
+                .addFilterBefore(addressRateLimitFilter, JwtFilter.class)
+                .addFilterAfter(userRateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public RateLimitFilter addressRateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        return new RateLimitFilter(rateLimiter, properties, RateLimitProperties.Key.IP);
+    }
+
+    @Bean
+    public RateLimitFilter userRateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        return new RateLimitFilter(rateLimiter, properties, RateLimitProperties.Key.USER);
+    }
+
+    /** ------------------ SERVLET REGISTRATION ------------------ **/
+    // Filter beans are also registered by Boot for every request; these run only inside the security chain
+    @Bean
+    public FilterRegistrationBean<JwtFilter> jwtFilterRegistration() {
+        return disabled(jwtFilter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> addressRateLimitFilterRegistration(RateLimitFilter addressRateLimitFilter) {
+        return disabled(addressRateLimitFilter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> userRateLimitFilterRegistration(RateLimitFilter userRateLimitFilter) {
+        return disabled(userRateLimitFilter);
+    }
+
+    private static <T extends Filter> FilterRegistrationBean<T> disabled(T filter) {
+        FilterRegistrationBean<T> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(RateLimitProperties rateLimitProperties, RateLimiter rateLimiter) {
+        // BCrypt runs behind a bulkhead so a burst of logins cannot take every core
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), rateLimitProperties.getBcrypt(),
+                () -> rateLimiter.throttled("bcrypt").increment());
     }
 }
@@ -0,0 +1,23 @@
+package leave_management_project.leave_management.config;
+
+import java.time.Duration;
+
+// Request shed by a rate limit or bulkhead; answered with 429 and Retry-After
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // Whole seconds for the Retry-After header, never less than one
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -2,19 +2,24 @@ package leave_management_project.leave_management.controller;
 
 
 import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.config.RateLimiter;
+import leave_management_project.leave_management.config.TooManyRequestsException;
 import leave_management_project.leave_management.dto.JwtResponseDto;
 import leave_management_project.leave_management.dto.LoginRequestDto;
 import leave_management_project.leave_management.dto.RegisterRequestDto;
 import leave_management_project.leave_management.model.User;
 import leave_management_project.leave_management.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
@@ -24,6 +29,7 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtUtils jwtUtils;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequestDto request) {
@@ -41,6 +47,10 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequestDto request) {
+        // Per-account limit on top of the per-address one, so spreading attempts over addresses does not help
+        if (request.getEmail() != null) {
+            rateLimiter.acquire("login", request.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
         Optional<User> userOpt = userService.findByEmail(request.getEmail());
 
         if (userOpt.isEmpty() || !userService.checkPassword(userOpt.get(), request.getPassword())) {
@@ -50,4 +60,12 @@ public class AuthController {
         String token = jwtUtils.generateToken(userOpt.get());
         return ResponseEntity.ok(new JwtResponseDto(token));
     }
+
+    // Login limit or BCrypt bulkhead
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
 }
@@ -19,7 +19,7 @@ public class EmailTestController {
                     "Test Email from Leave Management",
                     "Hello! This is a test email to verify SMTP configuration."
             );
-            return "Test email sent successfully!";
+            return "Test email queued successfully!";
         } catch (Exception e) {
             e.printStackTrace();
             return "Failed to send test email: " + e.getMessage();
@@ -1,17 +1,44 @@
 package leave_management_project.leave_management.controller;
 
+import leave_management_project.leave_management.dto.AbsenceHeatmapDto;
+import leave_management_project.leave_management.dto.BulkDecisionDto;
+import leave_management_project.leave_management.dto.BulkDecisionRequestDto;
+import leave_management_project.leave_management.dto.EventReplayReportDto;
+import leave_management_project.leave_management.dto.LeaveFilterDto;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeavePageDto;
+import leave_management_project.leave_management.dto.LeaveSummaryDto;
 import leave_management_project.leave_management.enumClass.LeaveType;
 import leave_management_project.leave_management.model.Leave;
+import leave_management_project.leave_management.model.LeaveEvent;
+import leave_management_project.leave_management.model.StoredDocument;
+import leave_management_project.leave_management.service.AbsenceHeatmapService;
+import leave_management_project.leave_management.service.DocumentStore;
+import leave_management_project.leave_management.service.IdempotencyService;
+import leave_management_project.leave_management.service.LeaveChangeBus;
+import leave_management_project.leave_management.service.LeaveEventLog;
+import leave_management_project.leave_management.service.LeaveEventReplay;
+import leave_management_project.leave_management.service.LeaveExportService;
+import leave_management_project.leave_management.service.LeaveImportService;
+import leave_management_project.leave_management.service.LeaveQueryService;
 import leave_management_project.leave_management.service.LeaveService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +49,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class LeaveController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final LeaveService leaveService;
+    private final LeaveQueryService leaveQueryService;
+    private final LeaveImportService leaveImportService;
+    private final DocumentStore documentStore;
+    private final AbsenceHeatmapService absenceHeatmapService;
+    private final IdempotencyService idempotencyService;
+    private final LeaveEventLog leaveEventLog;
+    private final LeaveEventReplay leaveEventReplay;
+    private final LeaveChangeBus leaveChangeBus;
+    private final LeaveExportService leaveExportService;
 
     // Staff: Initialize leave balances for themselves
     @PreAuthorize("hasRole('STAFF')")
@@ -53,7 +92,7 @@ public class LeaveController {
         return ResponseEntity.ok("Balance updated for user: " + userId);
     }
 
-    // Staff: Apply for leave
+    // Staff: Apply for leave; retries carrying the same Idempotency-Key get the first response back
     @PreAuthorize("hasRole('STAFF')")
     @PostMapping("/apply")
     public ResponseEntity<Leave> applyLeave(
@@ -62,22 +101,115 @@ public class LeaveController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam String reason,
             @RequestParam(required = false) MultipartFile document,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             Authentication authentication
     ) throws IOException {
         UUID userId = UUID.fromString(authentication.getName());
         String userEmail = getEmailFromAuth(authentication);
-        Leave leave = leaveService.applyLeave(userId, userEmail, type, startDate, endDate, reason, document);
-        return ResponseEntity.ok(leave);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(leaveService.applyLeave(userId, userEmail, type, startDate, endDate, reason, document));
+        }
+
+        String requestHash = IdempotencyService.fingerprint(type, startDate, endDate, reason,
+                document != null ? document.getOriginalFilename() : null, document != null ? document.getSize() : 0);
+        IdempotencyService.Result result = idempotencyService.applyOnce(userId, idempotencyKey, requestHash,
+                () -> leaveService.applyLeave(userId, userEmail, type, startDate, endDate, reason, document));
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.leave());
+    }
+
+    // Everyone: Server-Sent Events instead of polling; "balances" first, then "leave", "balances" and "calendar" as changes commit
+    @PreAuthorize("hasAnyRole('STAFF','MANAGER','ADMIN')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(Authentication authentication) {
+        return leaveChangeBus.subscribe(UUID.fromString(authentication.getName()));
     }
 
     // Staff: View their own leave applications
     @PreAuthorize("hasRole('STAFF')")
     @GetMapping("/my")
-    public ResponseEntity<List<Leave>> getMyLeaves(Authentication authentication) {
+    public ResponseEntity<List<LeaveListItem>> getMyLeaves(Authentication authentication) {
         UUID userId = UUID.fromString(authentication.getName());
         return ResponseEntity.ok(leaveService.getMyLeaves(userId));
     }
 
+    // Staff: Dashboard summary (days taken this year per type, pending count, next leave)
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping("/my/summary")
+    public ResponseEntity<LeaveSummaryDto> getMySummary(Authentication authentication) {
+        UUID userId = UUID.fromString(authentication.getName());
+        return ResponseEntity.ok(leaveService.getMySummary(userId));
+    }
+
+    // Staff: Page through their own leaves, ordered by start date (pass nextCursor back as cursor)
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping("/my/page")
+    public ResponseEntity<LeavePageDto> getMyLeavesPage(
+            LeaveFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication
+    ) {
+        filter.setUserId(UUID.fromString(authentication.getName()));
+        return ResponseEntity.ok(leaveQueryService.getPage(filter, cursor, size));
+    }
+
+    // Staff: Stream their own leaves as NDJSON
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping(value = "/my/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMyLeaves(LeaveFilterDto filter, Authentication authentication) {
+        filter.setUserId(UUID.fromString(authentication.getName()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> leaveQueryService.streamNdjson(filter, out));
+    }
+
+    // Owner, Manager & Admin: Download a leave's attachment; supports a single "Range: bytes=" range
+    @PreAuthorize("hasAnyRole('STAFF','MANAGER','ADMIN')")
+    @GetMapping("/{leaveId}/document")
+    public ResponseEntity<StreamingResponseBody> downloadDocument(
+            @PathVariable UUID leaveId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            Authentication authentication
+    ) {
+        UUID userId = UUID.fromString(authentication.getName());
+        Leave leave = leaveService.getLeaveWithDocument(leaveId, userId, getRoleFromAuth(authentication));
+        StoredDocument document = documentStore.find(leave.getDocumentHash())
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        long size = document.getSize();
+        long[] span = parseRange(range, size);
+        if (span == null) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+        }
+        long start = span[0];
+        long length = span[1] - span[0] + 1;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(length == size ? HttpStatus.OK : HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(leave.getDocumentName() != null ? leave.getDocumentName() : "document")
+                        .build().toString())
+                .contentType(document.getContentType() != null
+                        ? MediaType.parseMediaType(document.getContentType())
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(length);
+        if (length != size) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + span[0] + "-" + span[1] + "/" + size);
+        }
+        return response.body(out -> documentStore.transferTo(document.getHash(), start, length, Channels.newChannel(out)));
+    }
+
+    // Manager & Admin: Every recorded change to a leave, oldest first
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @GetMapping("/{leaveId}/history")
+    public ResponseEntity<List<LeaveEvent>> getLeaveHistory(@PathVariable UUID leaveId) {
+        return ResponseEntity.ok(leaveEventLog.history(leaveId));
+    }
+
     // Manager & Admin: Approve leave (can't approve their own)
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
     @PutMapping("/approve/{leaveId}")
@@ -126,13 +258,114 @@ public class LeaveController {
         return ResponseEntity.ok(leave);
     }
 
+    // Manager & Admin: Approve many leaves at once (their own and already decided ones are skipped)
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @PutMapping("/approve/bulk")
+    public ResponseEntity<BulkDecisionDto> bulkApprove(
+            @RequestBody BulkDecisionRequestDto request,
+            Authentication authentication
+    ) {
+        UUID managerId = UUID.fromString(authentication.getName());
+        return ResponseEntity.ok(leaveService.bulkApprove(request.getLeaveIds(), request.getComment(),
+                getRoleFromAuth(authentication), managerId, getEmailFromAuth(authentication)));
+    }
+
+    // Manager & Admin: Reject many leaves at once (their own and already decided ones are skipped)
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @PutMapping("/reject/bulk")
+    public ResponseEntity<BulkDecisionDto> bulkReject(
+            @RequestBody BulkDecisionRequestDto request,
+            Authentication authentication
+    ) {
+        UUID managerId = UUID.fromString(authentication.getName());
+        return ResponseEntity.ok(leaveService.bulkReject(request.getLeaveIds(), request.getComment(),
+                getRoleFromAuth(authentication), managerId, getEmailFromAuth(authentication)));
+    }
+
+    // Admin: Import historical leaves from CSV (userId,type,status,startDate,endDate,reason[,workingDays])
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public ResponseEntity<String> importLeaves(@RequestParam MultipartFile file) throws IOException {
+        int imported = leaveImportService.importCsv(file.getInputStream(), "ADMIN");
+        return ResponseEntity.ok("Imported " + imported + " leaves");
+    }
+
+    // Admin: Compare balances and statuses with a replay of the event log; apply=true repairs the drift
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/events/rebuild")
+    public ResponseEntity<EventReplayReportDto> rebuildFromEvents(@RequestParam(defaultValue = "false") boolean apply) {
+        return ResponseEntity.ok(leaveEventReplay.rebuild(apply, "ADMIN"));
+    }
+
     // Admin: View all leave requests
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/all")
-    public ResponseEntity<List<Leave>> getAllLeaves() {
+    public ResponseEntity<List<LeaveListItem>> getAllLeaves() {
         return ResponseEntity.ok(leaveService.getAllLeaves());
     }
 
+    // Admin: Page through all leave requests with optional status, type, user and date filters
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/all/page")
+    public ResponseEntity<LeavePageDto> getAllLeavesPage(
+            LeaveFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(leaveQueryService.getPage(filter, cursor, size));
+    }
+
+    // Admin: Stream all leave requests as NDJSON without loading them into memory
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllLeaves(LeaveFilterDto filter) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> leaveQueryService.streamNdjson(filter, out));
+    }
+
+    // Admin: Export all leaves as a compact binary file for payroll and BI jobs (read with LeaveExportFile)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/all/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllLeaves() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("leaves.lvx").build().toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(out -> leaveExportService.export(out, "ADMIN"));
+    }
+
+    // Everyone: Colleagues with approved leave overlapping the given range
+    @PreAuthorize("hasAnyRole('STAFF','MANAGER','ADMIN')")
+    @GetMapping("/colleagues")
+    public ResponseEntity<List<LeaveIntervalDto>> getColleaguesOnLeave(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication
+    ) {
+        UUID userId = UUID.fromString(authentication.getName());
+        return ResponseEntity.ok(leaveService.getColleaguesOnLeave(userId, startDate, endDate));
+    }
+
+    // Manager & Admin: People on approved leave per day, optionally per role (groupBy=role), as arrays or run lengths
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @GetMapping("/heatmap")
+    public ResponseEntity<AbsenceHeatmapDto> getAbsenceHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "none") String groupBy,
+            @RequestParam(defaultValue = "array") String encoding,
+            @RequestParam(defaultValue = "false") boolean parallel
+    ) {
+        if (!"none".equals(groupBy) && !"role".equals(groupBy)) {
+            throw new RuntimeException("groupBy must be none or role");
+        }
+        if (!"array".equals(encoding) && !"rle".equals(encoding)) {
+            throw new RuntimeException("encoding must be array or rle");
+        }
+        return ResponseEntity.ok(absenceHeatmapService.heatmap(from, to, "role".equals(groupBy), "rle".equals(encoding), parallel));
+    }
+
     // Staff: Process carryover for themselves
     @PreAuthorize("hasRole('STAFF')")
     @PostMapping("/carryover")
@@ -143,6 +376,38 @@ public class LeaveController {
     }
 
     /** ------------------ HELPER ------------------ **/
+    // Inclusive [first, last] for a single byte range, the whole file when absent, null when unsatisfiable
+    static long[] parseRange(String range, long size) {
+        if (range == null || !range.startsWith("bytes=") || range.contains(",")) {
+            return size == 0 ? new long[]{0, -1} : new long[]{0, size - 1};
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || size == 0) return null;
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0) return null;
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long first = Long.parseLong(from);
+            long last = to.isEmpty() ? size - 1 : Math.min(Long.parseLong(to), size - 1);
+            if (first >= size || last < first) return null;
+            return new long[]{first, last};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String getRoleFromAuth(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .findFirst()
+                .map(a -> a.getAuthority().replace("ROLE_", ""))
+                .orElse("");
+    }
+
     private String getEmailFromAuth(Authentication authentication) {
         return authentication.getName() + "manpaci45@gmail.com"; // replace with real email fetching
     }
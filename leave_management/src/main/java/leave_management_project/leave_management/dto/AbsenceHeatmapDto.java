@@ -0,0 +1,15 @@
+package leave_management_project.leave_management.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// People on approved leave per day over [from, to]
+@Value
+public class AbsenceHeatmapDto {
+    LocalDate from;
+    LocalDate to;
+    String encoding;           // "array": one count per day; "rle": count, run length, count, run length, ...
+    Map<String, int[]> groups; // "ALL", plus one entry per role when grouped by role
+}
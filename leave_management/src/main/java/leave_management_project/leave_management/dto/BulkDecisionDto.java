@@ -0,0 +1,16 @@
+package leave_management_project.leave_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionDto {
+    private List<UUID> updated; // Leaves whose status changed
+    private List<UUID> skipped; // Unknown, already decided, or the caller's own leaves
+}
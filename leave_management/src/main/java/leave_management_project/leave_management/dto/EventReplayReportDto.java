@@ -0,0 +1,14 @@
+package leave_management_project.leave_management.dto;
+
+import lombok.Value;
+
+// Outcome of replaying the leave_event log against the leave_balance and leaves tables
+@Value
+public class EventReplayReportDto {
+    long events;           // Events folded, including those in the snapshot replay started from
+    long balancesDrifted;  // leave_balance rows that differ from the replay
+    long statusesDrifted;  // Leaves whose status differs from the replay
+    long untrackedLeaves;  // Leaves with no events at all; left as they are
+    boolean applied;       // Whether drifted rows were overwritten with the replayed values
+    long elapsedMillis;
+}
@@ -0,0 +1,19 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// A committed leave change, pushed to subscribers of /api/leaves/stream
+@Value
+public class LeaveChangeDto {
+    UUID id;
+    UUID userId;
+    LeaveType type;
+    LeaveStatus status;
+    LocalDate startDate;
+    LocalDate endDate;
+}
@@ -0,0 +1,28 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Optional filters for leave listings; null fields are ignored
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveFilterDto {
+    private UUID userId;
+    private LeaveStatus status;
+    private LeaveType type;
+
+    // Leaves overlapping [from, to]
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
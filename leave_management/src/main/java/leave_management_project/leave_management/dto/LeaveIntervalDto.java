@@ -0,0 +1,17 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Just enough of a leave to place it on a calendar
+@Value
+public class LeaveIntervalDto {
+    UUID id;
+    UUID userId;
+    LeaveType type;
+    LocalDate startDate;
+    LocalDate endDate;
+}
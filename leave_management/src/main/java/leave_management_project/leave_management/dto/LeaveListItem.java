@@ -0,0 +1,24 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Closed projection for list views: Spring Data selects just these columns, no Leave entities are hydrated
+public interface LeaveListItem {
+    UUID getId();
+
+    UUID getUserId();
+
+    LeaveType getType();
+
+    LeaveStatus getStatus();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Double getWorkingDays();
+}
@@ -0,0 +1,20 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// LeaveListItem selected by the criteria queries behind pages and streams, which cannot return interface projections
+@Value
+public class LeaveListRow implements LeaveListItem {
+    UUID id;
+    UUID userId;
+    LeaveType type;
+    LeaveStatus status;
+    LocalDate startDate;
+    LocalDate endDate;
+    Double workingDays;
+}
@@ -0,0 +1,13 @@
+package leave_management_project.leave_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LeavePageDto {
+    private List<LeaveListItem> items;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,27 @@
+package leave_management_project.leave_management.dto;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+// Dashboard figures for one user; served from leave_summary without reading leaves
+@Value
+public class LeaveSummaryDto {
+    int year;
+    Map<LeaveType, Double> daysTaken; // Approved days this year, every type present
+    int pendingCount;
+    NextLeave nextLeave; // null when nothing is coming up
+
+    @Value
+    public static class NextLeave {
+        UUID id;
+        LeaveType type;
+        LeaveStatus status;
+        LocalDate startDate;
+        LocalDate endDate;
+    }
+}
@@ -0,0 +1,10 @@
+package leave_management_project.leave_management.dto;
+
+import java.util.UUID;
+
+// Closed projection: just a user's role, for grouping reports
+public interface UserRoleView {
+    UUID getId();
+
+    String getRole();
+}
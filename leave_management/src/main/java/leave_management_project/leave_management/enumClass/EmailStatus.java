@@ -0,0 +1,7 @@
+package leave_management_project.leave_management.enumClass;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package leave_management_project.leave_management.enumClass;
+
+public enum LeaveEventType {
+    APPLIED,          // Leave created as PENDING (or imported); balance_delta is what was deducted
+    APPROVED,
+    REJECTED,         // balance_delta is the refund
+    BALANCE_ADJUSTED, // Seeded, reset or set by an admin
+    CARRIED_OVER      // Year-end: balance moved into carryover
+}
@@ -3,5 +3,10 @@ package leave_management_project.leave_management.enumClass;
 public enum LeaveStatus {
     PENDING,
     APPROVED,
-    REJECTED
+    REJECTED;
+
+    // A leave is decided once: PENDING may become APPROVED or REJECTED, and decisions are final
+    public boolean canMoveTo(LeaveStatus next) {
+        return this == PENDING && next != PENDING;
+    }
 }
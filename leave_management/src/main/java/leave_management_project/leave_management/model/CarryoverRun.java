@@ -0,0 +1,26 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "carryover_run")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarryoverRun {
+
+    @Id
+    private int year; // The year whose unused balances are carried over
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt; // null while the run is unfinished
+
+    private long users; // Users carried over, set when the run finishes
+}
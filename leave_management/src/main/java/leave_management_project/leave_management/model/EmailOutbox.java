@@ -0,0 +1,42 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import leave_management_project.leave_management.enumClass.EmailStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailStatus status; // Pending, Sent, Failed
+
+    private int attempts;
+    private Instant nextAttemptAt; // Also used as a lease while a worker is sending
+    private Instant createdAt;
+    private Instant sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
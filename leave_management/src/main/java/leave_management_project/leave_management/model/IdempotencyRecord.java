@@ -0,0 +1,29 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_record")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 300)
+    private String scopedKey; // "<userId>:<Idempotency-Key>", so keys never collide across users
+
+    @Column(nullable = false, length = 64)
+    private String requestHash; // SHA-256 of the request parameters
+
+    private UUID leaveId; // The leave the first request created
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
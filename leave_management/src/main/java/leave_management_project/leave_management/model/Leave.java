@@ -31,9 +31,15 @@ public class Leave {
 
     private LocalDate startDate;
     private LocalDate endDate;
+    private Double workingDays; // Days deducted from the balance (weekends and public holidays excluded)
 
     private String reason;
-    private String documentPath; // Optional file upload
+    private String documentPath; // Attachments uploaded before the document store; new ones use documentHash
+    private String documentHash; // SHA-256 of the attachment in the document store
+    private String documentName; // Original file name of the attachment
     private String managerComment;
+
+    @Version
+    private long version; // Bumped by every write, including the status updates in LeaveRepository
 }
 
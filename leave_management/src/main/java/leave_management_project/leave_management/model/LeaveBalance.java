@@ -0,0 +1,35 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "leave_balance",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "type"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeaveType type;
+
+    private double balance;   // Days remaining for this type
+    private double carryover; // Days carried over from previous years
+
+    @Version
+    private long version;     // Bumped by every write, including the relative updates in LeaveBalanceRepository
+}
@@ -0,0 +1,34 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "leave_days_taken",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "leave_year", "type"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveDaysTaken {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(name = "leave_year", nullable = false)
+    private int year; // Year of the leave's start date
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeaveType type;
+
+    private double days; // Approved days of this type
+}
@@ -0,0 +1,46 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import leave_management_project.leave_management.enumClass.LeaveEventType;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// One entry of the append-only leave_event log; never updated or deleted
+@Entity
+@Table(name = "leave_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_event_seq")
+    @SequenceGenerator(name = "leave_event_seq", sequenceName = "leave_event_seq", allocationSize = 50)
+    private Long seq;
+
+    @Column(insertable = false, updatable = false)
+    private Long txId; // Id of the writing transaction, set by the database
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private LeaveEventType type;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    private UUID leaveId;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveType leaveType;
+
+    private double balanceDelta;   // Change to the balance of leaveType
+    private double carryoverDelta; // Change to the carryover of leaveType
+}
@@ -0,0 +1,27 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "leave_event_snapshot")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveEventSnapshot {
+
+    @Id
+    private long txHorizon; // Holds the events of every transaction with a lower id
+
+    @Column(nullable = false)
+    private Instant takenAt;
+
+    private long events; // Events folded into the state
+
+    @Column(nullable = false)
+    private byte[] state; // Gzipped LeaveState
+}
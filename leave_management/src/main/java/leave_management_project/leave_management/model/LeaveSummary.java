@@ -0,0 +1,37 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// One row per user, maintained by LeaveSummaryProjection; never written through the entity
+@Entity
+@Table(name = "leave_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveSummary {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private int pendingCount;
+
+    // Earliest PENDING or APPROVED leave starting on or after the day it was recorded
+    private UUID nextLeaveId;
+    private LocalDate nextStartDate;
+    private LocalDate nextEndDate;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveType nextType;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveStatus nextStatus;
+}
@@ -0,0 +1,28 @@
+package leave_management_project.leave_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_document")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredDocument {
+
+    @Id
+    @Column(length = 64)
+    private String hash; // Hex SHA-256 of the content
+
+    @Column(nullable = false)
+    private long size;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -1,16 +1,22 @@
 package leave_management_project.leave_management.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import leave_management_project.leave_management.config.CacheRegions;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Data
 @Entity
 @Table(name = "app_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER) // Read on every login and registration
 public class User {
 
     @Id
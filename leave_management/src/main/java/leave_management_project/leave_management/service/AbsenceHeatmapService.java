@@ -0,0 +1,168 @@
+package leave_management_project.leave_management.service;
+
+import io.micrometer.core.annotation.Timed;
+import leave_management_project.leave_management.Repository.UserRepository;
+import leave_management_project.leave_management.dto.AbsenceHeatmapDto;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.dto.UserRoleView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Daily absence counts for heatmaps.
+ * <p>
+ * Approved leaves come from {@link ApprovedLeaveIndex}. Each user's overlapping leaves are
+ * merged first so nobody is counted twice on a day, then every span adds +1 at its first day
+ * and -1 after its last in a difference array per group, and one prefix sum per group yields
+ * the counts. The cost is one pass over the leaves plus one over the days, whatever the range.
+ */
+@Service
+@RequiredArgsConstructor
+public class AbsenceHeatmapService {
+
+    public static final String ALL = "ALL";
+    static final int MAX_DAYS = 10 * 366;
+    private static final int ROLE_LOOKUP_CHUNK = 1000;
+
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final UserRepository userRepository;
+
+    @Timed(value = "leave.operation", extraTags = {"operation", "absence_heatmap"})
+    public AbsenceHeatmapDto heatmap(LocalDate from, LocalDate to, boolean byRole, boolean runLength, boolean parallel) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        if (days > MAX_DAYS) {
+            throw new RuntimeException("Date range too long: at most " + MAX_DAYS + " days");
+        }
+
+        List<LeaveIntervalDto> leaves = approvedLeaveIndex.findOverlapping(from, to);
+        Map<UUID, String> roles = byRole ? rolesOf(leaves) : Map.of();
+
+        List<String> groups = new ArrayList<>();
+        groups.add(ALL);
+        if (byRole) {
+            new TreeSet<>(roles.values()).forEach(groups::add);
+            if (!groups.contains("UNKNOWN")) groups.add("UNKNOWN");
+        }
+        Map<String, Integer> groupIndex = new HashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            groupIndex.put(groups.get(g), g);
+        }
+
+        List<Span> spans = mergePerUser(leaves, from.toEpochDay(), to.toEpochDay(), roles, groupIndex, byRole);
+        int width = (int) days + 1;
+        Stream<Span> stream = parallel ? spans.parallelStream() : spans.stream();
+        int[][] diff = stream.collect(() -> new int[groups.size()][width], AbsenceHeatmapService::accumulate, AbsenceHeatmapService::combine);
+
+        Map<String, int[]> result = new LinkedHashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            int[] counts = prefixSum(diff[g], (int) days);
+            if (g > 0 && isZero(counts)) continue; // Roles with nobody off, and UNKNOWN when everyone is known
+            result.put(groups.get(g), runLength ? runLength(counts) : counts);
+        }
+        return new AbsenceHeatmapDto(from, to, runLength ? "rle" : "array", result);
+    }
+
+    /** ------------------ SWEEP ------------------ **/
+    // Day offsets within the range, inclusive; group 0 is ALL
+    private record Span(int group, int first, int last) {
+    }
+
+    // Leaves arrive sorted by start date, so each user's spans merge in a single pass
+    private static List<Span> mergePerUser(List<LeaveIntervalDto> leaves, long fromDay, long toDay,
+                                           Map<UUID, String> roles, Map<String, Integer> groupIndex, boolean byRole) {
+        Map<UUID, List<LeaveIntervalDto>> byUser = new HashMap<>();
+        for (LeaveIntervalDto leave : leaves) {
+            byUser.computeIfAbsent(leave.getUserId(), u -> new ArrayList<>()).add(leave);
+        }
+
+        List<Span> spans = new ArrayList<>(leaves.size());
+        byUser.forEach((userId, own) -> {
+            int group = byRole ? groupIndex.get(roles.getOrDefault(userId, "UNKNOWN")) : 0;
+            int first = -1;
+            int last = -1;
+            for (LeaveIntervalDto leave : own) {
+                int start = (int) (Math.max(leave.getStartDate().toEpochDay(), fromDay) - fromDay);
+                int end = (int) (Math.min(leave.getEndDate().toEpochDay(), toDay) - fromDay);
+                if (first >= 0 && start <= last + 1) {
+                    last = Math.max(last, end);
+                    continue;
+                }
+                if (first >= 0) spans.add(new Span(group, first, last));
+                first = start;
+                last = end;
+            }
+            if (first >= 0) spans.add(new Span(group, first, last));
+        });
+        return spans;
+    }
+
+    private static void accumulate(int[][] diff, Span span) {
+        diff[0][span.first()]++;
+        diff[0][span.last() + 1]--;
+        if (span.group() != 0) {
+            diff[span.group()][span.first()]++;
+            diff[span.group()][span.last() + 1]--;
+        }
+    }
+
+    private static void combine(int[][] into, int[][] other) {
+        for (int g = 0; g < into.length; g++) {
+            for (int d = 0; d < into[g].length; d++) {
+                into[g][d] += other[g][d];
+            }
+        }
+    }
+
+    private static int[] prefixSum(int[] diff, int days) {
+        int[] counts = new int[days];
+        int running = 0;
+        for (int d = 0; d < days; d++) {
+            running += diff[d];
+            counts[d] = running;
+        }
+        return counts;
+    }
+
+    /** ------------------ ENCODING ------------------ **/
+    // count, run length, count, run length, ...
+    static int[] runLength(int[] counts) {
+        int[] pairs = new int[counts.length * 2];
+        int n = 0;
+        for (int d = 0; d < counts.length; d++) {
+            if (n > 0 && pairs[n - 2] == counts[d]) {
+                pairs[n - 1]++;
+            } else {
+                pairs[n++] = counts[d];
+                pairs[n++] = 1;
+            }
+        }
+        return Arrays.copyOf(pairs, n);
+    }
+
+    private static boolean isZero(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) return false;
+        }
+        return true;
+    }
+
+    /** ------------------ ROLES ------------------ **/
+    private Map<UUID, String> rolesOf(List<LeaveIntervalDto> leaves) {
+        List<UUID> userIds = leaves.stream().map(LeaveIntervalDto::getUserId).distinct().toList();
+        Map<UUID, String> roles = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i += ROLE_LOOKUP_CHUNK) {
+            List<UUID> chunk = userIds.subList(i, Math.min(i + ROLE_LOOKUP_CHUNK, userIds.size()));
+            for (UserRoleView user : userRepository.findByIdIn(chunk)) {
+                if (user.getRole() != null) roles.put(user.getId(), user.getRole());
+            }
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,202 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of APPROVED leaves answering "who is off between X and Y" without a query.
+ * <p>
+ * Leaves are bucketed by length (powers of two) and each bucket is a skip list ordered by
+ * start day. A leave overlapping [X, Y] must start within [X - longest in its bucket, Y], so a
+ * lookup is one short range scan per bucket, and the occasional 90-day leave does not widen
+ * the scan for the thousands of one-day ones. Reads never lock; writers serialise on a lock
+ * so a rebuild from the database can replay changes that happened while it was loading.
+ */
+@Slf4j
+@Service
+public class ApprovedLeaveIndex {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final int BUCKETS = 12; // spans of 0, 1, 2-3, 4-7, ... days; the last one takes the rest
+
+    private final LeaveRepository leaveRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile State state = new State();
+    private List<Consumer<State>> changesDuringRebuild; // guarded by writeLock
+
+    public ApprovedLeaveIndex(LeaveRepository leaveRepository, PlatformTransactionManager transactionManager) {
+        this.leaveRepository = leaveRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** ------------------ QUERIES ------------------ **/
+    // Approved leaves overlapping [start, end], ordered by start date
+    public List<LeaveIntervalDto> findOverlapping(LocalDate start, LocalDate end) {
+        State current = state;
+        long to = end.toEpochDay();
+        List<LeaveIntervalDto> result = new ArrayList<>();
+        for (int b = 0; b < BUCKETS; b++) {
+            ConcurrentSkipListMap<Key, LeaveIntervalDto> bucket = current.buckets[b];
+            if (bucket.isEmpty()) continue;
+            long from = start.toEpochDay() - current.longestSpan[b].get();
+            if (from > to) continue;
+            for (LeaveIntervalDto leave : bucket.subMap(new Key(from, MIN_ID), true, new Key(to, MAX_ID), true).values()) {
+                if (!leave.getEndDate().isBefore(start)) {
+                    result.add(leave);
+                }
+            }
+        }
+        result.sort(Comparator.comparing(LeaveIntervalDto::getStartDate));
+        return result;
+    }
+
+    public int size() {
+        return state.byId.size();
+    }
+
+    /** ------------------ INCREMENTAL UPDATES ------------------ **/
+    public void add(LeaveIntervalDto leave) {
+        write(s -> s.add(leave));
+    }
+
+    public void remove(UUID leaveId) {
+        write(s -> s.remove(leaveId));
+    }
+
+    // Re-reads the leaves and keeps those still APPROVED; for decisions made on other instances
+    public void refresh(Collection<UUID> leaveIds) {
+        List<LeaveIntervalDto> approved = readOnlyTransaction.execute(status ->
+                leaveRepository.findIntervalsByIdInAndStatus(leaveIds, LeaveStatus.APPROVED));
+        write(s -> {
+            leaveIds.forEach(s::remove);
+            approved.forEach(s::add);
+        });
+    }
+
+    private void write(Consumer<State> change) {
+        writeLock.lock();
+        try {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** ------------------ RECONCILIATION ------------------ **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${leave.index.reconcile-interval:3600000}",
+            initialDelayString = "${leave.index.reconcile-interval:3600000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    // Loads every approved leave into a fresh index and swaps it in, keeping concurrent updates
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            if (changesDuringRebuild != null) return; // a rebuild is already running
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        State fresh = new State();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<LeaveIntervalDto> approved = leaveRepository.streamIntervalsByStatus(LeaveStatus.APPROVED)) {
+                    approved.forEach(fresh::add);
+                }
+            });
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            changesDuringRebuild = null;
+            state = fresh;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Approved leave index rebuilt with {} leaves", fresh.byId.size());
+    }
+
+    /** ------------------ STORAGE ------------------ **/
+    private record Key(long startDay, UUID id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byDay = Long.compare(startDay, other.startDay);
+            return byDay != 0 ? byDay : id.compareTo(other.id);
+        }
+    }
+
+    private static final class State {
+        @SuppressWarnings("unchecked")
+        private final ConcurrentSkipListMap<Key, LeaveIntervalDto>[] buckets = new ConcurrentSkipListMap[BUCKETS];
+        private final AtomicInteger[] longestSpan = new AtomicInteger[BUCKETS];
+        private final Map<UUID, Key> byId = new ConcurrentHashMap<>();
+        private final Map<UUID, Integer> bucketById = new ConcurrentHashMap<>();
+
+        State() {
+            for (int b = 0; b < BUCKETS; b++) {
+                buckets[b] = new ConcurrentSkipListMap<>();
+                longestSpan[b] = new AtomicInteger();
+            }
+        }
+
+        void add(LeaveIntervalDto leave) {
+            remove(leave.getId());
+            Key key = new Key(leave.getStartDate().toEpochDay(), leave.getId());
+            int span = (int) Math.max(0, leave.getEndDate().toEpochDay() - key.startDay());
+            int bucket = Math.min(32 - Integer.numberOfLeadingZeros(span), BUCKETS - 1);
+            // Widen the span before publishing the entry so readers never miss it
+            longestSpan[bucket].accumulateAndGet(span, Math::max);
+            buckets[bucket].put(key, leave);
+            byId.put(leave.getId(), key);
+            bucketById.put(leave.getId(), bucket);
+        }
+
+        void remove(UUID leaveId) {
+            Key key = byId.remove(leaveId);
+            Integer bucket = bucketById.remove(leaveId);
+            if (key != null && bucket != null) {
+                buckets[bucket].remove(key);
+            }
+        }
+    }
+}
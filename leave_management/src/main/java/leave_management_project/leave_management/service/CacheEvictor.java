@@ -0,0 +1,57 @@
+package leave_management_project.leave_management.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import leave_management_project.leave_management.config.CacheRegions;
+import leave_management_project.leave_management.model.PublicHoliday;
+import leave_management_project.leave_management.model.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Explicit second-level cache eviction for writes. Hibernate already invalidates query
+ * results by table on commit; evicting the named regions as well keeps other nodes' caches
+ * from outliving a change they did not see. Runs after commit so a rollback keeps the cache;
+ * {@link ClusterNotifier} does the same on the other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ClusterNotifier clusterNotifier;
+
+    public void publicHolidayChanged() {
+        TransactionHooks.afterCommit(this::evictHolidays);
+    }
+
+    public void userChanged(UUID userId) {
+        clusterNotifier.userChanged(userId);
+        TransactionHooks.afterCommit(() -> evictUser(userId));
+    }
+
+    /** ------------------ LOCAL EVICTION ------------------ **/
+    // Also called by ClusterListener for changes made on other instances
+    void evictHolidays() {
+        cache().evictEntityData(PublicHoliday.class);
+        cache().evictQueryRegion(CacheRegions.UPCOMING_HOLIDAYS);
+    }
+
+    void evictUser(UUID userId) {
+        cache().evictEntityData(User.class, userId);
+        cache().evictQueryRegion(CacheRegions.USER_BY_EMAIL);
+    }
+
+    void evictAll() {
+        cache().evictEntityData(User.class);
+        cache().evictQueryRegion(CacheRegions.USER_BY_EMAIL);
+        evictHolidays();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,156 @@
+package leave_management_project.leave_management.service;
+
+import jakarta.annotation.PreDestroy;
+import leave_management_project.leave_management.config.ClusterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies the invalidations {@link ClusterNotifier} sends from other instances.
+ * <p>
+ * Listens on its own connection, outside the pool, with one thread that waits on the socket
+ * for notifications. Notifications sent while the connection was down are lost, so after a
+ * reconnect every in-memory cache is dropped and the approved-leave index rebuilt.
+ */
+@Slf4j
+@Service
+public class ClusterListener {
+
+    private static final int POLL_MILLIS = 1000; // How long one wait for notifications blocks
+
+    private final ClusterProperties properties;
+    private final ClusterNotifier clusterNotifier;
+    private final JdbcConnectionDetails connectionDetails;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final LeaveConflictIndex leaveConflictIndex;
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final HolidayCalendar holidayCalendar;
+    private final CacheEvictor cacheEvictor;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public ClusterListener(ClusterProperties properties,
+                           ClusterNotifier clusterNotifier,
+                           JdbcConnectionDetails connectionDetails,
+                           LeaveBalanceLedger leaveBalanceLedger,
+                           LeaveConflictIndex leaveConflictIndex,
+                           ApprovedLeaveIndex approvedLeaveIndex,
+                           HolidayCalendar holidayCalendar,
+                           CacheEvictor cacheEvictor) {
+        this.properties = properties;
+        this.clusterNotifier = clusterNotifier;
+        this.connectionDetails = connectionDetails;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.leaveConflictIndex = leaveConflictIndex;
+        this.approvedLeaveIndex = approvedLeaveIndex;
+        this.holidayCalendar = holidayCalendar;
+        this.cacheEvictor = cacheEvictor;
+    }
+
+    /** ------------------ LIFECYCLE ------------------ **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) return;
+        running = true;
+        listener = new Thread(this::listenLoop, "cluster-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(POLL_MILLIS * 2L);
+        }
+    }
+
+    /** ------------------ LISTENING ------------------ **/
+    private void listenLoop() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.getChannel().replace("\"", "\"\"") + "\"");
+                }
+                if (connectedBefore) {
+                    dropEverything();
+                }
+                connectedBefore = true;
+                log.info("Listening for cache invalidations on channel {}", properties.getChannel());
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received == null) continue;
+                    for (PGNotification notification : received) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}", properties.getReconnectDelay(), e);
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // "<nodeId> <kind> <id>,<id>,..."; this instance's own are skipped, except balances: a copy
+    // reloaded while its own deductions were in flight would otherwise keep missing them
+    void handle(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 3) return;
+        try {
+            ClusterNotifier.Kind kind = ClusterNotifier.Kind.valueOf(parts[1]);
+            if (kind != ClusterNotifier.Kind.BALANCES && parts[0].equals(clusterNotifier.nodeId())) return;
+            String[] ids = parts[2].split(",");
+            switch (kind) {
+                case BALANCES -> leaveBalanceLedger.evict(uuids(ids));
+                case LEAVES -> leaveConflictIndex.evict(uuids(ids));
+                case APPROVED -> approvedLeaveIndex.refresh(uuids(ids));
+                case USERS -> uuids(ids).forEach(cacheEvictor::evictUser);
+                case HOLIDAYS -> {
+                    for (String year : ids) holidayCalendar.invalidate(Integer.parseInt(year));
+                    cacheEvictor.evictHolidays();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring cache invalidation {}", payload, e);
+        }
+    }
+
+    private void dropEverything() {
+        log.info("Dropping in-memory caches after reconnecting; invalidations may have been missed");
+        leaveBalanceLedger.evictAll();
+        leaveConflictIndex.evictAll();
+        holidayCalendar.invalidateAll();
+        cacheEvictor.evictAll();
+        approvedLeaveIndex.rebuild();
+    }
+
+    private static List<UUID> uuids(String[] ids) {
+        List<UUID> result = new ArrayList<>(ids.length);
+        for (String id : ids) result.add(UUID.fromString(id));
+        return result;
+    }
+}
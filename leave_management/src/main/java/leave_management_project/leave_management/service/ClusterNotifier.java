@@ -0,0 +1,127 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.config.ClusterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Tells the other instances which of their in-memory state a write made stale.
+ * <p>
+ * Invalidations are collected per transaction and sent with {@code pg_notify} just before it
+ * commits. Postgres delivers a notification only if its transaction commits, and only after
+ * the commit, so a listener never reloads data that is not visible yet, and a rollback sends
+ * nothing. Each payload carries this instance's id so {@link ClusterListener} can tell its own apart.
+ */
+@Slf4j
+@Service
+public class ClusterNotifier {
+
+    // What a notification invalidates; the ids that follow it depend on the kind
+    enum Kind {
+        BALANCES, // user ids: LeaveBalanceLedger
+        LEAVES,   // user ids: LeaveConflictIndex
+        APPROVED, // leave ids: ApprovedLeaveIndex
+        USERS,    // user ids: second-level cache
+        HOLIDAYS  // years: HolidayCalendar and second-level cache
+    }
+
+    private static final int IDS_PER_PAYLOAD = 200; // Payloads must stay under 8000 bytes
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ClusterNotifier(JdbcTemplate jdbcTemplate, ClusterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    /** ------------------ INVALIDATIONS ------------------ **/
+    public void balancesChanged(UUID userId) {
+        publish(Kind.BALANCES, List.of(userId));
+    }
+
+    public void balancesChanged(Collection<UUID> userIds) {
+        publish(Kind.BALANCES, userIds);
+    }
+
+    // Users whose pending or approved leaves changed
+    public void leavesChanged(Collection<UUID> userIds) {
+        publish(Kind.LEAVES, userIds);
+    }
+
+    // Leaves that may have become, or stopped being, APPROVED
+    public void approvalsChanged(Collection<UUID> leaveIds) {
+        publish(Kind.APPROVED, leaveIds);
+    }
+
+    public void userChanged(UUID userId) {
+        publish(Kind.USERS, List.of(userId));
+    }
+
+    public void holidaysChanged(int year) {
+        publish(Kind.HOLIDAYS, List.of(year));
+    }
+
+    /** ------------------ SENDING ------------------ **/
+    private void publish(Kind kind, Collection<?> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(kind, ids);
+            return;
+        }
+        pending().computeIfAbsent(kind, k -> new LinkedHashSet<>()).addAll(ids);
+    }
+
+    // Invalidations of the current transaction, sent once in beforeCommit
+    @SuppressWarnings("unchecked")
+    private Map<Kind, Set<Object>> pending() {
+        Map<Kind, Set<Object>> pending = (Map<Kind, Set<Object>>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        Map<Kind, Set<Object>> created = new EnumMap<>(Kind.class);
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // A REQUIRES_NEW transaction inside this one collects and sends its own
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(ClusterNotifier.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(ClusterNotifier.this, created);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                created.forEach(ClusterNotifier.this::send);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ClusterNotifier.this);
+            }
+        });
+        return created;
+    }
+
+    private void send(Kind kind, Collection<?> ids) {
+        List<?> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += IDS_PER_PAYLOAD) {
+            StringJoiner payload = new StringJoiner(",", nodeId + " " + kind + " ", "");
+            all.subList(from, Math.min(from + IDS_PER_PAYLOAD, all.size())).forEach(id -> payload.add(id.toString()));
+            jdbcTemplate.queryForObject("SELECT 1 FROM (SELECT pg_notify(?, ?)) n", Integer.class,
+                    properties.getChannel(), payload.toString());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.model.StoredDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for leave attachments. Identical uploads are stored once;
+ * callers keep only the returned hash.
+ */
+public interface DocumentStore {
+
+    // Streams the content into the store, or finds it there if the same bytes were stored before
+    StoredDocument store(InputStream content, String contentType) throws IOException;
+
+    Optional<StoredDocument> find(String hash);
+
+    // Copies count bytes starting at position to target; returns the number of bytes written
+    long transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -1,21 +1,60 @@
 package leave_management_project.leave_management.service;
 
+import io.micrometer.core.annotation.Timed;
+import leave_management_project.leave_management.Repository.EmailOutboxRepository;
+import leave_management_project.leave_management.config.NotificationProperties;
+import leave_management_project.leave_management.enumClass.EmailStatus;
+import leave_management_project.leave_management.model.EmailOutbox;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationProperties notificationProperties;
 
+    // Queues the mail in the outbox as part of the caller's transaction; delivery happens after commit
+    @Timed(value = "mail.enqueue", extraTags = {"mode", "single"})
+    @Transactional
     public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setTo(to);
-        msg.setSubject(subject);
-        msg.setText(body);
-        mailSender.send(msg);
+        if (!notificationProperties.isEnabled()) return;
+
+        EmailOutbox saved = emailOutboxRepository.save(pending(to, subject, body, Instant.now()));
+        TransactionHooks.afterCommit(() -> notificationDispatcher.enqueue(saved.getId()));
+    }
+
+    // Same as sendEmail for many messages: one batched insert and one hand-over after commit
+    @Timed(value = "mail.enqueue", extraTags = {"mode", "batch"})
+    @Transactional
+    public void sendEmails(Collection<SimpleMailMessage> messages) {
+        if (!notificationProperties.isEnabled() || messages.isEmpty()) return;
+
+        Instant now = Instant.now();
+        List<EmailOutbox> rows = messages.stream()
+                .map(m -> pending(m.getTo()[0], m.getSubject(), m.getText(), now))
+                .toList();
+        List<EmailOutbox> saved = emailOutboxRepository.saveAll(rows);
+        TransactionHooks.afterCommit(() -> saved.forEach(row -> notificationDispatcher.enqueue(row.getId())));
+    }
+
+    private static EmailOutbox pending(String to, String subject, String body, Instant now) {
+        return EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
     }
 }
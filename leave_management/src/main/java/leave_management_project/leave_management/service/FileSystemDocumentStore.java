@@ -0,0 +1,161 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.StoredDocumentRepository;
+import leave_management_project.leave_management.model.StoredDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link DocumentStore} on the local file system.
+ * <p>
+ * Uploads are copied through a fixed direct buffer into a temporary file while the SHA-256 is
+ * computed, so no upload is ever held in heap. The file is then moved to
+ * {@code <root>/<first two hex digits>/<hash>}; if that content is already there the temporary
+ * file is simply dropped. Each distinct content has one row in {@code stored_document}, and downloads
+ * use {@link FileChannel#transferTo}, which the kernel serves without copying when the target allows it.
+ */
+@Slf4j
+@Service
+public class FileSystemDocumentStore implements DocumentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final Path root;
+    private final Path incoming;
+    private final Duration orphanGrace;
+
+    public FileSystemDocumentStore(StoredDocumentRepository storedDocumentRepository,
+                                   @Value("${documents.storage-dir:uploads/store}") String storageDir,
+                                   @Value("${documents.orphan-grace:1h}") Duration orphanGrace) throws IOException {
+        this.storedDocumentRepository = storedDocumentRepository;
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.incoming = root.resolve("incoming");
+        this.orphanGrace = orphanGrace;
+        Files.createDirectories(incoming);
+    }
+
+    /** ------------------ UPLOAD ------------------ **/
+    @Override
+    public StoredDocument store(InputStream content, String contentType) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            try (ReadableByteChannel in = Channels.newChannel(content);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Instant now = Instant.now();
+            storedDocumentRepository.register(hash, size, contentType, now);
+
+            Path target = pathOf(hash);
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // Duplicate content: keep the existing file and mark it as recently used
+                Files.setLastModifiedTime(target, FileTime.from(now));
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return storedDocumentRepository.findById(hash).orElseThrow();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** ------------------ DOWNLOAD ------------------ **/
+    @Override
+    public Optional<StoredDocument> find(String hash) {
+        return storedDocumentRepository.findById(hash);
+    }
+
+    @Override
+    public long transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel file = FileChannel.open(pathOf(hash), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, file.size());
+            long sent = 0;
+            while (position + sent < end) {
+                long n = file.transferTo(position + sent, end - position - sent, target);
+                if (n <= 0) break;
+                sent += n;
+            }
+            return sent;
+        }
+    }
+
+    /** ------------------ SWEEP ------------------ **/
+    // Deletes files left behind by rolled-back uploads: staged ones, and stored ones whose row never committed
+    @Scheduled(fixedDelayString = "${documents.sweep-interval:3600000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(orphanGrace);
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> olderThan(path, cutoff))
+                    .filter(path -> path.startsWith(incoming) || !storedDocumentRepository.existsById(path.getFileName().toString()))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Document sweep could not list {}", root, e);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new RuntimeException("Invalid document hash");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static boolean olderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete stored document {}", path, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
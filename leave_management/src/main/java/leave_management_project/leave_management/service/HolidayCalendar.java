@@ -0,0 +1,115 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.PublicHolidayRepository;
+import leave_management_project.leave_management.model.PublicHoliday;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Working-day arithmetic over weekends and {@link PublicHoliday} dates.
+ * <p>
+ * Each year is loaded once into a bitmap of non-working days plus a prefix-sum array, so
+ * counting the working days in any range costs one subtraction per calendar year it spans.
+ */
+@Service
+@RequiredArgsConstructor
+public class HolidayCalendar {
+
+    private final PublicHolidayRepository publicHolidayRepository;
+
+    private final ConcurrentHashMap<Integer, YearCalendar> years = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Working days in [start, end], both inclusive; 0 when end is before start
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        int total = 0;
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            YearCalendar calendar = year(year);
+            int from = year == start.getYear() ? start.getDayOfYear() : 1;
+            int to = year == end.getYear() ? end.getDayOfYear() : calendar.length();
+            total += calendar.workingDaysBetween(from, to);
+        }
+        return total;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).isWorkingDay(date.getDayOfYear());
+    }
+
+    // Drops the cached year once the current transaction commits (immediately if there is none)
+    public void invalidate(int year) {
+        TransactionHooks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            years.remove(year);
+        });
+    }
+
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            years.clear();
+        });
+    }
+
+    private YearCalendar year(int year) {
+        YearCalendar cached = years.get(year);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside computeIfAbsent so the query never runs under the map's bin lock (pins virtual threads);
+        // a load that overlapped an invalidation is used once but not cached
+        long seen = invalidations.get();
+        YearCalendar loaded = load(year);
+        YearCalendar raced = years.putIfAbsent(year, loaded);
+        if (raced != null) {
+            return raced;
+        }
+        if (invalidations.get() != seen) {
+            years.remove(year, loaded);
+        }
+        return loaded;
+    }
+
+    private YearCalendar load(int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        int length = first.lengthOfYear();
+
+        BitSet closed = new BitSet(length + 1); // bit n = day-of-year n is not a working day
+        for (int day = 1; day <= length; day++) {
+            DayOfWeek dayOfWeek = first.plusDays(day - 1).getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                closed.set(day);
+            }
+        }
+        for (PublicHoliday holiday : publicHolidayRepository.findByDateBetween(first, first.plusDays(length - 1))) {
+            closed.set(holiday.getDate().getDayOfYear());
+        }
+
+        int[] prefix = new int[length + 1]; // prefix[n] = working days among days 1..n
+        for (int day = 1; day <= length; day++) {
+            prefix[day] = prefix[day - 1] + (closed.get(day) ? 0 : 1);
+        }
+        return new YearCalendar(closed, prefix);
+    }
+
+    private record YearCalendar(BitSet closed, int[] prefix) {
+
+        int length() {
+            return prefix.length - 1;
+        }
+
+        int workingDaysBetween(int fromDay, int toDay) {
+            return toDay < fromDay ? 0 : prefix[toDay] - prefix[fromDay - 1];
+        }
+
+        boolean isWorkingDay(int day) {
+            return !closed.get(day);
+        }
+    }
+}
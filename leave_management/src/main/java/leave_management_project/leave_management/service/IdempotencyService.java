@@ -0,0 +1,174 @@
+package leave_management_project.leave_management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import leave_management_project.leave_management.Repository.IdempotencyRecordRepository;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.config.IdempotencyProperties;
+import leave_management_project.leave_management.model.IdempotencyRecord;
+import leave_management_project.leave_management.model.Leave;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a leave application at most once per {@code Idempotency-Key} and user.
+ * <p>
+ * Keys live in a bounded Caffeine map that expires them after {@code idempotency.ttl}. The
+ * first request for a key publishes a future there; duplicates arriving while it runs wait on
+ * that future, and later ones replay its leave. A failed request removes its key so a retry
+ * runs again. With {@code idempotency.persistent=true} the key is also inserted into
+ * {@code idempotency_record} in the same transaction as the leave, so another instance blocks
+ * on the unique key until the first commits and then replays the stored leave.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final LeaveRepository leaveRepository;
+    private final IdempotencyProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, CompletableFuture<Entry>> keys;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              LeaveRepository leaveRepository,
+                              IdempotencyProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.leaveRepository = leaveRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @FunctionalInterface
+    public interface Apply {
+        Leave run() throws IOException;
+    }
+
+    public record Result(Leave leave, boolean replayed) {
+    }
+
+    private record Entry(String requestHash, Leave leave, boolean replayed) {
+    }
+
+    /** ------------------ APPLY ONCE ------------------ **/
+    public Result applyOnce(UUID userId, String key, String requestHash, Apply apply) throws IOException {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = userId + ":" + key;
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> first = keys.asMap().putIfAbsent(scopedKey, mine);
+        if (first != null) {
+            Entry entry = await(first);
+            checkSameRequest(entry.requestHash(), requestHash);
+            return new Result(entry.leave(), true);
+        }
+
+        try {
+            Entry entry = properties.isPersistent()
+                    ? applyRecorded(scopedKey, requestHash, apply)
+                    : new Entry(requestHash, apply.run(), false);
+            mine.complete(entry);
+            return new Result(entry.leave(), entry.replayed());
+        } catch (IOException | RuntimeException e) {
+            keys.asMap().remove(scopedKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // The claim and the leave commit together; a claim that already exists is replayed
+    private Entry applyRecorded(String scopedKey, String requestHash, Apply apply) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (idempotencyRecordRepository.claim(scopedKey, requestHash, Instant.now()) == 0) {
+                    IdempotencyRecord record = idempotencyRecordRepository.findById(scopedKey).orElseThrow();
+                    checkSameRequest(record.getRequestHash(), requestHash);
+                    Leave leave = leaveRepository.findById(record.getLeaveId())
+                            .orElseThrow(() -> new RuntimeException("Leave not found"));
+                    return new Entry(requestHash, leave, true);
+                }
+                Leave leave = run(apply);
+                idempotencyRecordRepository.attachLeave(scopedKey, leave.getId());
+                return new Entry(requestHash, leave, false);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Entry await(CompletableFuture<Entry> first) throws IOException {
+        try {
+            return first.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            // The original failed: duplicates that waited for it fail the same way
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void checkSameRequest(String original, String requestHash) {
+        if (!original.equals(requestHash)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private static Leave run(Apply apply) {
+        try {
+            return apply.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** ------------------ HOUSEKEEPING ------------------ **/
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval:3600000}")
+    public void sweep() {
+        if (properties.isPersistent()) {
+            idempotencyRecordRepository.deleteCreatedBefore(Instant.now().minus(properties.getTtl()));
+        }
+    }
+
+    // Stable hash of the request parameters, so a key reused for a different request is refused
+    public static String fingerprint(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,214 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveBalanceRepository;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveBalance;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Leave balances per user, persisted in {@code leave_balance} and cached in memory.
+ * <p>
+ * Each cached user holds one lock-free slot per {@link LeaveType}; deductions, refunds and
+ * adjustments are compare-and-set loops on that slot, so concurrent requests for the same
+ * user never lose an update or overdraw, and reads never lock. Deductions and refunds are
+ * written to the database as relative updates, adjustments as absolute ones, and every change
+ * is reverted in memory if the surrounding transaction rolls back. Deductions are also checked by the database, so instances whose caches lag
+ * behind each other still cannot overdraw; {@link ClusterNotifier} tells the others to reload.
+ */
+@Service
+public class LeaveBalanceLedger {
+
+    private static final LeaveType[] TYPES = LeaveType.values();
+
+    static final Map<LeaveType, Double> DEFAULT_BALANCES;
+
+    static {
+        Map<LeaveType, Double> defaults = new EnumMap<>(LeaveType.class);
+        defaults.put(LeaveType.ANNUAL, 10.0);
+        defaults.put(LeaveType.PTO, 20.0);
+        defaults.put(LeaveType.SICK, 10.0);
+        defaults.put(LeaveType.COMPASSIONATE, 5.0);
+        defaults.put(LeaveType.MATERNITY, 90.0);
+        defaults.put(LeaveType.PATERNITY, 10.0);
+        defaults.put(LeaveType.UNPAID, 0.0);
+        defaults.put(LeaveType.OTHER, 5.0);
+        DEFAULT_BALANCES = Collections.unmodifiableMap(defaults);
+    }
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveEventLog leaveEventLog;
+    private final ClusterNotifier clusterNotifier;
+
+    private final ConcurrentHashMap<UUID, UserBalances> balances = new ConcurrentHashMap<>();
+
+    public LeaveBalanceLedger(LeaveBalanceRepository leaveBalanceRepository,
+                              LeaveEventLog leaveEventLog,
+                              ClusterNotifier clusterNotifier) {
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveEventLog = leaveEventLog;
+        this.clusterNotifier = clusterNotifier;
+    }
+
+    /** ------------------ READS ------------------ **/
+    public Map<LeaveType, Double> getBalances(UUID userId) {
+        UserBalances user = load(userId);
+        Map<LeaveType, Double> result = new EnumMap<>(LeaveType.class);
+        for (LeaveType type : TYPES) {
+            result.put(type, user.get(user.balance, type));
+        }
+        return result;
+    }
+
+    public double getBalance(UUID userId, LeaveType type) {
+        UserBalances user = load(userId);
+        return user.get(user.balance, type);
+    }
+
+    // Number of users currently cached in memory
+    public int size() {
+        return balances.size();
+    }
+
+    /** ------------------ WRITES ------------------ **/
+    public void deduct(UUID userId, LeaveType type, double days) {
+        UserBalances user = load(userId);
+        if (!user.tryDeduct(type, days)) {
+            throw new RuntimeException("Insufficient leave balance for type: " + type);
+        }
+        if (leaveBalanceRepository.deductFromBalance(userId, type, days) == 0) {
+            // Another instance spent the days first: this copy is stale, so drop it rather than revert it
+            balances.remove(userId, user);
+            throw new RuntimeException("Insufficient leave balance for type: " + type);
+        }
+        written(userId, user, user.balance, type, -days);
+    }
+
+    public void refund(UUID userId, LeaveType type, double days) {
+        UserBalances user = load(userId);
+        user.add(user.balance, type, days);
+        persistBalanceDelta(userId, user, type, days);
+    }
+
+    // Absolute write: the delta comes from the row, not from this copy, which may predate changes made elsewhere.
+    // The slot moves by that same delta so changes still in flight on this instance stay accounted for.
+    public void set(UUID userId, LeaveType type, double newBalance) {
+        UserBalances user = load(userId);
+        double previous = leaveBalanceRepository.replaceBalance(userId, type.name(), newBalance)
+                .orElseThrow(() -> new RuntimeException("No " + type + " balance for user " + userId));
+        double delta = newBalance - previous;
+        user.add(user.balance, type, delta);
+        written(userId, user, user.balance, type, delta);
+        leaveEventLog.balanceAdjusted(userId, type, delta);
+    }
+
+    // Resets every type back to its default entitlement
+    public void reset(UUID userId) {
+        for (LeaveType type : TYPES) {
+            set(userId, type, DEFAULT_BALANCES.getOrDefault(type, 0.0));
+        }
+    }
+
+    // Drops cached users after their rows were changed in bulk; the next read reloads them
+    public void evict(Collection<UUID> userIds) {
+        userIds.forEach(balances::remove);
+    }
+
+    public void evictAll() {
+        balances.clear();
+    }
+
+    /** ------------------ PERSISTENCE ------------------ **/
+    private UserBalances load(UUID userId) {
+        UserBalances cached = balances.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // Read outside computeIfAbsent: JDBC inside it would hold the map's bin lock and pin virtual threads
+        UserBalances loaded = readOrSeed(userId);
+        UserBalances raced = balances.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    // Missing rows are inserted in the caller's transaction (no second connection); if it rolls back they are
+    // gone again, so the copy built from them is dropped too
+    private UserBalances readOrSeed(UUID userId) {
+        List<LeaveBalance> rows = leaveBalanceRepository.findByUserId(userId);
+        UserBalances user = new UserBalances();
+        if (rows.size() < TYPES.length) {
+            if (seedMissing(userId, rows)) {
+                TransactionHooks.afterRollback(() -> balances.remove(userId, user));
+            }
+            rows = leaveBalanceRepository.findByUserId(userId);
+        }
+        for (LeaveBalance row : rows) {
+            user.getAndSet(user.balance, row.getType(), row.getBalance());
+        }
+        return user;
+    }
+
+    // Returns whether any row was inserted; rows another request seeded first are left as they are
+    private boolean seedMissing(UUID userId, List<LeaveBalance> rows) {
+        Set<LeaveType> present = EnumSet.noneOf(LeaveType.class);
+        rows.forEach(row -> present.add(row.getType()));
+
+        boolean seeded = false;
+        for (LeaveType type : TYPES) {
+            double balance = DEFAULT_BALANCES.getOrDefault(type, 0.0);
+            if (!present.contains(type) && leaveBalanceRepository.seed(userId, type.name(), balance) == 1) {
+                leaveEventLog.balanceAdjusted(userId, type, balance);
+                seeded = true;
+            }
+        }
+        return seeded;
+    }
+
+    private void persistBalanceDelta(UUID userId, UserBalances user, LeaveType type, double delta) {
+        if (delta == 0.0) return;
+        leaveBalanceRepository.addToBalance(userId, type, delta);
+        written(userId, user, user.balance, type, delta);
+    }
+
+    // Every instance reloads the user once this commits; on rollback the slot that was changed is reverted
+    // (a copy evicted in the meantime is simply dropped)
+    private void written(UUID userId, UserBalances user, AtomicLongArray slots, LeaveType type, double delta) {
+        clusterNotifier.balancesChanged(userId);
+        TransactionHooks.afterRollback(() -> user.add(slots, type, -delta));
+    }
+
+    /** ------------------ IN-MEMORY SLOTS ------------------ **/
+    // Doubles stored as raw long bits so each slot can be updated with a single CAS
+    private static final class UserBalances {
+        private final AtomicLongArray balance = new AtomicLongArray(TYPES.length);
+
+        double get(AtomicLongArray slots, LeaveType type) {
+            return Double.longBitsToDouble(slots.get(type.ordinal()));
+        }
+
+        double getAndSet(AtomicLongArray slots, LeaveType type, double value) {
+            return Double.longBitsToDouble(slots.getAndSet(type.ordinal(), Double.doubleToRawLongBits(value)));
+        }
+
+        void add(AtomicLongArray slots, LeaveType type, double delta) {
+            int i = type.ordinal();
+            while (true) {
+                long bits = slots.get(i);
+                long updated = Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + delta);
+                if (slots.compareAndSet(i, bits, updated)) return;
+            }
+        }
+
+        boolean tryDeduct(LeaveType type, double days) {
+            int i = type.ordinal();
+            while (true) {
+                long bits = balance.get(i);
+                double current = Double.longBitsToDouble(bits);
+                if (current < days) return false;
+                if (balance.compareAndSet(i, bits, Double.doubleToRawLongBits(current - days))) return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package leave_management_project.leave_management.service;
+
+import jakarta.annotation.PreDestroy;
+import leave_management_project.leave_management.config.LeaveStreamProperties;
+import leave_management_project.leave_management.dto.LeaveChangeDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.model.Leave;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed leave and balance changes to Server-Sent Events subscribers.
+ * <p>
+ * Publishers hand their changes over in the transaction; after commit the bus finds the
+ * subscribers in memory and queues the events on each of them. An idle subscriber holds no
+ * thread: a sender is only busy while a subscriber's queue has events to write, so a slow
+ * client delays nobody else, and one that falls {@code stream.max-pending} events behind is
+ * disconnected. Balances come from {@link LeaveBalanceLedger}, so pushes cost no queries.
+ */
+@Slf4j
+@Service
+public class LeaveChangeBus {
+
+    static final String LEAVE = "leave";       // One of the subscriber's leaves changed status
+    static final String BALANCES = "balances"; // The subscriber's balances, after a change
+    static final String CALENDAR = "calendar"; // Leaves approved, or approved ones rejected, in one commit
+
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final LeaveStreamProperties properties;
+    private final Executor sender;
+
+    private final ConcurrentHashMap<UUID, List<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LeaveChangeBus(LeaveBalanceLedger leaveBalanceLedger, LeaveStreamProperties properties) {
+        // Platform threads on purpose: SseEmitter.send writes inside synchronized methods, which would pin virtual threads
+        this(leaveBalanceLedger, properties, Executors.newFixedThreadPool(properties.getSenders(), senderThreads()));
+    }
+
+    LeaveChangeBus(LeaveBalanceLedger leaveBalanceLedger, LeaveStreamProperties properties, Executor sender) {
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.properties = properties;
+        this.sender = sender;
+    }
+
+    /** ------------------ SUBSCRIPTIONS ------------------ **/
+    // Starts with the user's current balances, then every change after it
+    public SseEmitter subscribe(UUID userId) {
+        return register(userId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter register(UUID userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+
+        subscribers.add(subscriber);
+        List<Subscriber> own = byUser.compute(userId, (id, list) -> {
+            List<Subscriber> next = list != null ? list : new CopyOnWriteArrayList<>();
+            next.add(subscriber);
+            return next;
+        });
+        for (Subscriber oldest : own) {
+            if (own.size() <= properties.getMaxPerUser()) break;
+            oldest.close();
+        }
+        subscriber.offer(event(BALANCES, leaveBalanceLedger.getBalances(userId)));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) return;
+        byUser.computeIfPresent(subscriber.userId, (id, own) -> {
+            own.remove(subscriber);
+            return own.isEmpty() ? null : own;
+        });
+    }
+
+    /** ------------------ PUBLISHING ------------------ **/
+    // A newly applied leave; its balance was deducted
+    public void applied(Leave leave) {
+        publish(List.of(leave), null, true);
+    }
+
+    // Leaves moved from previous to their current status; balancesChanged when refunds were made
+    public void decided(Collection<Leave> leaves, LeaveStatus previous, boolean balancesChanged) {
+        publish(leaves, previous, balancesChanged);
+    }
+
+    private void publish(Collection<Leave> leaves, LeaveStatus previous, boolean balancesChanged) {
+        if (subscribers.isEmpty() || leaves.isEmpty()) return;
+        List<LeaveChangeDto> changes = leaves.stream().map(LeaveChangeBus::toChange).toList();
+        TransactionHooks.afterCommit(() -> dispatch(changes, previous, balancesChanged));
+    }
+
+    void dispatch(List<LeaveChangeDto> changes, LeaveStatus previous, boolean balancesChanged) {
+        Set<UUID> owners = new LinkedHashSet<>();
+        List<LeaveChangeDto> calendar = new ArrayList<>();
+        for (LeaveChangeDto change : changes) {
+            List<Subscriber> own = byUser.get(change.getUserId());
+            if (own != null) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = event(LEAVE, change);
+                own.forEach(s -> s.offer(event));
+                owners.add(change.getUserId());
+            }
+            if (change.getStatus() == LeaveStatus.APPROVED || previous == LeaveStatus.APPROVED) {
+                calendar.add(change);
+            }
+        }
+
+        if (balancesChanged) {
+            for (UUID userId : owners) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = event(BALANCES, leaveBalanceLedger.getBalances(userId));
+                byUser.getOrDefault(userId, List.of()).forEach(s -> s.offer(event));
+            }
+        }
+
+        // One event per commit for every subscriber, however many leaves it decided
+        if (!calendar.isEmpty()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = event(CALENDAR, calendar);
+            subscribers.forEach(s -> s.offer(event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval:30000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) return;
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("keep-alive").build();
+        subscribers.forEach(s -> s.offer(ping));
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(Subscriber::close);
+        if (sender instanceof ExecutorService executor) executor.shutdownNow();
+    }
+
+    /** ------------------ HELPER ------------------ **/
+    // Built once and shared: the emitter serializes the data anew for each subscriber
+    private static Set<ResponseBodyEmitter.DataWithMediaType> event(String name, Object data) {
+        return Collections.unmodifiableSet(SseEmitter.event().name(name).data(data).build());
+    }
+
+    private static LeaveChangeDto toChange(Leave leave) {
+        return new LeaveChangeDto(leave.getId(), leave.getUserId(), leave.getType(), leave.getStatus(),
+                leave.getStartDate(), leave.getEndDate());
+    }
+
+    private static ThreadFactory senderThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "leave-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Events wait in the subscriber's own queue; at most one sender drains it at a time, keeping their order
+    private final class Subscriber {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (size.incrementAndGet() > properties.getMaxPending()) {
+                log.debug("Leave stream of user {} fell {} events behind, closing it", userId, properties.getMaxPending());
+                close();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(); // Shutting down
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away or the emitter already completed; draining stays set so nothing is queued again
+                        remove(this);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            remove(this);
+            emitter.complete();
+        }
+    }
+}
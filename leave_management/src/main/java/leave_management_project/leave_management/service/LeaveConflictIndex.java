@@ -0,0 +1,147 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Each user's PENDING and APPROVED leaves in memory, so applying for leave can refuse an
+ * overlapping request without reading the user's leaves.
+ * <p>
+ * A user's active leaves never overlap, so ordered by start day the only one that can overlap
+ * [start, end] is the last one starting on or before end: a check is one floor lookup. Users are
+ * loaded with one indexed query on first use. The check and the reservation of the new period
+ * happen under the user's lock, so of two concurrent overlapping requests only one gets through.
+ * The exclusion constraint on {@code leaves} stays the source of truth and catches what this
+ * instance has not seen, such as leaves inserted by another instance.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveConflictIndex {
+
+    private static final List<LeaveStatus> ACTIVE = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+    private final LeaveRepository leaveRepository;
+
+    private final ConcurrentHashMap<UUID, UserLeaves> users = new ConcurrentHashMap<>();
+
+    /** ------------------ RESERVE ------------------ **/
+    // Claims [start, end] for a new leave of the user, or throws if an active leave overlaps it.
+    // The claim is dropped again if the surrounding transaction rolls back.
+    public Reservation reserve(UUID userId, LocalDate start, LocalDate end) {
+        UserLeaves user = load(userId);
+        Reservation reservation = new Reservation(null, start.toEpochDay(), end.toEpochDay());
+        while (true) {
+            Reservation conflict;
+            user.lock.lock();
+            try {
+                conflict = user.overlapping(reservation.start, reservation.end);
+                if (conflict == null) {
+                    user.byStart.put(reservation.start, reservation);
+                    break;
+                }
+            } finally {
+                user.lock.unlock();
+            }
+            // Leaves rejected on another instance are still here; confirm before refusing
+            UUID leaveId = conflict.leaveId;
+            if (leaveId == null || leaveRepository.findStatusById(leaveId).filter(ACTIVE::contains).isPresent()) {
+                throw new RuntimeException("Requested period overlaps your leave from " +
+                        LocalDate.ofEpochDay(conflict.start) + " to " + LocalDate.ofEpochDay(conflict.end));
+            }
+            user.remove(conflict);
+        }
+        TransactionHooks.afterRollback(() -> user.remove(reservation));
+        return reservation;
+    }
+
+    /** ------------------ CHANGES ------------------ **/
+    // A leave stopped being active
+    public void release(UUID userId, UUID leaveId) {
+        UserLeaves user = users.get(userId);
+        if (user == null) return;
+        user.lock.lock();
+        try {
+            user.byStart.values().removeIf(r -> leaveId.equals(r.leaveId));
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    // Forgets the users; they are loaded again on their next request
+    public void evict(Collection<UUID> userIds) {
+        users.keySet().removeAll(userIds);
+    }
+
+    public void evictAll() {
+        users.clear();
+    }
+
+    // Number of users currently held in memory
+    public int size() {
+        return users.size();
+    }
+
+    // Loaded outside computeIfAbsent so the query does not run while holding a map bin lock
+    private UserLeaves load(UUID userId) {
+        UserLeaves user = users.get(userId);
+        if (user != null) return user;
+
+        UserLeaves loaded = new UserLeaves();
+        for (LeaveIntervalDto leave : leaveRepository.findIntervalsByUserIdAndStatusIn(userId, ACTIVE)) {
+            Reservation r = new Reservation(leave.getId(), leave.getStartDate().toEpochDay(), leave.getEndDate().toEpochDay());
+            loaded.byStart.put(r.start, r);
+        }
+        UserLeaves raced = users.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /** ------------------ STRUCTURES ------------------ **/
+    // One leave's period; the id is null until the reserving request has saved its leave
+    public static final class Reservation {
+        private volatile UUID leaveId;
+        private final long start;
+        private final long end;
+
+        private Reservation(UUID leaveId, long start, long end) {
+            this.leaveId = leaveId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public void bind(UUID leaveId) {
+            this.leaveId = leaveId;
+        }
+    }
+
+    private static final class UserLeaves {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeMap<Long, Reservation> byStart = new TreeMap<>();
+
+        // Caller holds the lock
+        private Reservation overlapping(long start, long end) {
+            Map.Entry<Long, Reservation> last = byStart.floorEntry(end);
+            return last != null && last.getValue().end >= start ? last.getValue() : null;
+        }
+
+        private void remove(Reservation reservation) {
+            lock.lock();
+            try {
+                byStart.remove(reservation.start, reservation);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
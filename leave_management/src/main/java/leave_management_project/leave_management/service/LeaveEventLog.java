@@ -0,0 +1,99 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveEventRepository;
+import leave_management_project.leave_management.enumClass.LeaveEventType;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import leave_management_project.leave_management.model.LeaveEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends to the {@code leave_event} log. Every method joins the caller's transaction, so an
+ * event commits or rolls back with the change it records; {@link LeaveEventReplay} folds the
+ * log back into balances and statuses.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveEventLog {
+
+    private final LeaveEventRepository leaveEventRepository;
+
+    /** ------------------ LEAVES ------------------ **/
+    public void applied(Leave leave, double deducted) {
+        leaveEventRepository.save(event(LeaveEventType.APPLIED, leave, -deducted));
+    }
+
+    public void approved(Collection<Leave> leaves) {
+        append(leaves, LeaveEventType.APPROVED, false);
+    }
+
+    // Records the refund rejectLeave and bulkReject make: what applying the leave deducted
+    public void rejected(Collection<Leave> leaves) {
+        append(leaves, LeaveEventType.REJECTED, true);
+    }
+
+    // Imported leaves are history and leave balances alone
+    public void imported(Collection<Leave> leaves) {
+        List<LeaveEvent> events = new ArrayList<>(leaves.size() * 2);
+        for (Leave leave : leaves) {
+            events.add(event(LeaveEventType.APPLIED, leave, 0.0));
+            if (leave.getStatus() == LeaveStatus.APPROVED) events.add(event(LeaveEventType.APPROVED, leave, 0.0));
+            if (leave.getStatus() == LeaveStatus.REJECTED) events.add(event(LeaveEventType.REJECTED, leave, 0.0));
+        }
+        leaveEventRepository.saveAll(events);
+    }
+
+    public List<LeaveEvent> history(UUID leaveId) {
+        return leaveEventRepository.findByLeaveIdOrderByTxIdAscSeqAsc(leaveId);
+    }
+
+    /** ------------------ BALANCES ------------------ **/
+    public void balanceAdjusted(UUID userId, LeaveType type, double delta) {
+        if (delta == 0.0) return;
+        leaveEventRepository.save(balanceEvent(LeaveEventType.BALANCE_ADJUSTED, userId, type, delta, 0.0));
+    }
+
+    // Year-end carryover of a chunk of users; must run before the balance UPDATE it describes
+    public void carriedOver(Collection<UUID> userIds, LeaveType type, double fraction, double cap) {
+        leaveEventRepository.appendCarriedOver(userIds, type.name(), fraction, cap);
+    }
+
+    private void append(Collection<Leave> leaves, LeaveEventType type, boolean refund) {
+        List<LeaveEvent> events = new ArrayList<>(leaves.size());
+        for (Leave leave : leaves) {
+            events.add(event(type, leave, refund ? LeaveService.deductedDays(leave) : 0.0));
+        }
+        leaveEventRepository.saveAll(events);
+    }
+
+    private static LeaveEvent event(LeaveEventType type, Leave leave, double balanceDelta) {
+        return LeaveEvent.builder()
+                .occurredAt(Instant.now())
+                .type(type)
+                .userId(leave.getUserId())
+                .leaveId(leave.getId())
+                .leaveType(leave.getType())
+                .balanceDelta(balanceDelta)
+                .build();
+    }
+
+    private static LeaveEvent balanceEvent(LeaveEventType type, UUID userId, LeaveType leaveType,
+                                           double balanceDelta, double carryoverDelta) {
+        return LeaveEvent.builder()
+                .occurredAt(Instant.now())
+                .type(type)
+                .userId(userId)
+                .leaveType(leaveType)
+                .balanceDelta(balanceDelta)
+                .carryoverDelta(carryoverDelta)
+                .build();
+    }
+}
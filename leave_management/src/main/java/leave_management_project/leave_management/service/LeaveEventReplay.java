@@ -0,0 +1,217 @@
+package leave_management_project.leave_management.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import leave_management_project.leave_management.Repository.LeaveBalanceRepository;
+import leave_management_project.leave_management.Repository.LeaveEventRepository;
+import leave_management_project.leave_management.Repository.LeaveEventSnapshotRepository;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.EventReplayReportDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveBalance;
+import leave_management_project.leave_management.model.LeaveEvent;
+import leave_management_project.leave_management.model.LeaveEventSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Folds the {@code leave_event} log back into balances and leave statuses.
+ * <p>
+ * A replay starts from the newest snapshot and streams only the events of transactions the
+ * snapshot does not include, so its cost is bounded by the tail rather than the whole history.
+ * Snapshots are taken on a schedule once {@code events.snapshot-min-events} new events have
+ * accumulated. {@link #rebuild} compares a replay with {@code leave_balance} and {@code leaves}
+ * under one repeatable-read snapshot and, when asked, overwrites the rows that drifted; a row
+ * changed concurrently makes it fail rather than overwrite the newer value.
+ */
+@Slf4j
+@Service
+public class LeaveEventReplay {
+
+    private static final LeaveType[] TYPES = LeaveType.values();
+    private static final double EPSILON = 1e-9; // Replay may sum the same deltas in another order
+
+    private final LeaveEventRepository leaveEventRepository;
+    private final LeaveEventSnapshotRepository leaveEventSnapshotRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveRepository leaveRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final LeaveConflictIndex leaveConflictIndex;
+    private final LeaveSummaryProjection leaveSummaryProjection;
+    private final ClusterNotifier clusterNotifier;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate rebuildTransaction;
+    private final Timer replayTimer;
+    private final long snapshotMinEvents;
+
+    public LeaveEventReplay(LeaveEventRepository leaveEventRepository,
+                            LeaveEventSnapshotRepository leaveEventSnapshotRepository,
+                            LeaveBalanceRepository leaveBalanceRepository,
+                            LeaveRepository leaveRepository,
+                            LeaveBalanceLedger leaveBalanceLedger,
+                            ApprovedLeaveIndex approvedLeaveIndex,
+                            LeaveConflictIndex leaveConflictIndex,
+                            LeaveSummaryProjection leaveSummaryProjection,
+                            ClusterNotifier clusterNotifier,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${events.snapshot-min-events:100000}") long snapshotMinEvents) {
+        this.leaveEventRepository = leaveEventRepository;
+        this.leaveEventSnapshotRepository = leaveEventSnapshotRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveRepository = leaveRepository;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.approvedLeaveIndex = approvedLeaveIndex;
+        this.leaveConflictIndex = leaveConflictIndex;
+        this.leaveSummaryProjection = leaveSummaryProjection;
+        this.clusterNotifier = clusterNotifier;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.replayTimer = Timer.builder("leave.events.replay")
+                .description("Replay of the leave event log from the newest snapshot")
+                .register(meterRegistry);
+        this.snapshotMinEvents = snapshotMinEvents;
+    }
+
+    /** ------------------ REPLAY ------------------ **/
+    // Newest snapshot plus every event after it; joins the caller's transaction if any
+    LeaveState replay() {
+        return replayTimer.record(() -> readTransaction.execute(status -> {
+            Optional<LeaveEventSnapshot> snapshot = leaveEventSnapshotRepository.findFirstByOrderByTxHorizonDesc();
+            LeaveState state = snapshot.map(s -> LeaveState.fromBytes(s.getState())).orElseGet(LeaveState::new);
+            fold(state, snapshot.map(LeaveEventSnapshot::getTxHorizon).orElse(0L), Long.MAX_VALUE);
+            return state;
+        }));
+    }
+
+    private void fold(LeaveState state, long fromTx, long toTx) {
+        try (Stream<LeaveEvent> events = leaveEventRepository.streamForReplay(fromTx, toTx)) {
+            events.forEach(state::apply);
+        }
+    }
+
+    /** ------------------ SNAPSHOTS ------------------ **/
+    @Scheduled(fixedDelayString = "${events.snapshot-interval:3600000}",
+            initialDelayString = "${events.snapshot-interval:3600000}")
+    public void snapshot() {
+        Optional<LeaveEventSnapshot> previous = leaveEventSnapshotRepository.findFirstByOrderByTxHorizonDesc();
+        long horizon = leaveEventRepository.currentTxHorizon();
+        if (previous.isPresent() && previous.get().getTxHorizon() >= horizon) return;
+
+        long eventsBefore = previous.map(LeaveEventSnapshot::getEvents).orElse(0L);
+        LeaveState state = readTransaction.execute(status -> {
+            LeaveState s = previous.map(p -> LeaveState.fromBytes(p.getState())).orElseGet(LeaveState::new);
+            fold(s, previous.map(LeaveEventSnapshot::getTxHorizon).orElse(0L), horizon);
+            return s;
+        });
+        if (state == null || state.events() - eventsBefore < snapshotMinEvents) return;
+
+        byte[] bytes = state.toBytes();
+        leaveEventSnapshotRepository.insert(horizon, Instant.now(), state.events(), bytes);
+        // Keeps the new snapshot and the one before it
+        previous.ifPresent(p -> leaveEventSnapshotRepository.deleteOlderThan(p.getTxHorizon()));
+        log.info("Leave event snapshot at tx {}: {} events, {} leaves, {} KiB",
+                horizon, state.events(), state.leaveCount(), bytes.length / 1024);
+    }
+
+    /** ------------------ REBUILD ------------------ **/
+    // Compares the tables with a replay; with apply, overwrites drifted rows with the replayed values
+    public EventReplayReportDto rebuild(boolean apply, String role) {
+        if (!"ADMIN".equals(role)) {
+            throw new RuntimeException("Access denied: Only Admin can rebuild from the event log");
+        }
+        long started = System.nanoTime();
+        Set<UUID> balanceUsers = new HashSet<>();
+        Set<UUID> statusUsers = new HashSet<>();
+        EventReplayReportDto report = rebuildTransaction.execute(status -> {
+            LeaveState state = replay();
+
+            // Balances: every table row, then replayed users that have no rows at all
+            List<LeaveBalance> balances = new ArrayList<>();
+            Set<UUID> tableUsers = new HashSet<>();
+            try (Stream<LeaveBalance> rows = leaveBalanceRepository.streamAll()) {
+                for (Iterator<LeaveBalance> it = rows.iterator(); it.hasNext(); ) {
+                    LeaveBalance row = it.next();
+                    tableUsers.add(row.getUserId());
+                    LeaveBalance replayed = replayed(state, row.getUserId(), row.getType());
+                    if (differs(row.getBalance(), replayed.getBalance()) || differs(row.getCarryover(), replayed.getCarryover())) {
+                        balances.add(replayed);
+                    }
+                }
+            }
+            for (UUID userId : state.users()) {
+                if (tableUsers.contains(userId)) continue;
+                for (LeaveType type : TYPES) balances.add(replayed(state, userId, type));
+            }
+
+            // Statuses
+            Map<LeaveStatus, List<UUID>> statuses = new EnumMap<>(LeaveStatus.class);
+            long statusesDrifted = 0;
+            long untracked = 0;
+            try (Stream<Object[]> rows = leaveRepository.streamStatuses()) {
+                for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                    Object[] row = it.next();
+                    LeaveState.LeaveRef replayed = state.leave((UUID) row[0]);
+                    if (replayed == null) {
+                        untracked++;
+                    } else if (replayed.status() != row[2]) {
+                        statusesDrifted++;
+                        statuses.computeIfAbsent(replayed.status(), s -> new ArrayList<>()).add((UUID) row[0]);
+                        statusUsers.add(replayed.userId());
+                    }
+                }
+            }
+
+            if (apply) {
+                balances.forEach(b -> leaveBalanceRepository.overwrite(b.getUserId(), b.getType().name(),
+                        b.getBalance(), b.getCarryover()));
+                statuses.forEach((s, ids) -> leaveRepository.overwriteStatus(ids, s));
+                leaveSummaryProjection.rebuild(statusUsers);
+                balances.forEach(b -> balanceUsers.add(b.getUserId()));
+                clusterNotifier.balancesChanged(balanceUsers);
+                clusterNotifier.leavesChanged(statusUsers);
+                statuses.values().forEach(clusterNotifier::approvalsChanged);
+            } else {
+                statusUsers.clear();
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Event log rebuild ({}): {} events, {} balances and {} statuses drifted, {} untracked leaves, {} ms",
+                    apply ? "applied" : "dry run", state.events(), balances.size(), statusesDrifted, untracked, elapsedMillis);
+            return new EventReplayReportDto(state.events(), balances.size(), statusesDrifted, untracked, apply, elapsedMillis);
+        });
+
+        // After commit, outside the transaction: the index rebuild reads in a transaction of its own
+        leaveBalanceLedger.evict(balanceUsers);
+        if (!statusUsers.isEmpty()) {
+            leaveConflictIndex.evict(statusUsers);
+            approvedLeaveIndex.rebuild();
+        }
+        return report;
+    }
+
+    private static LeaveBalance replayed(LeaveState state, UUID userId, LeaveType type) {
+        return LeaveBalance.builder()
+                .userId(userId)
+                .type(type)
+                .balance(state.balance(userId, type))
+                .carryover(state.carryover(userId, type))
+                .build();
+    }
+
+    private static boolean differs(double a, double b) {
+        return Math.abs(a - b) > EPSILON;
+    }
+}
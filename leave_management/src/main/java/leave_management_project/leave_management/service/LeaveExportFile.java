@@ -0,0 +1,208 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.dto.LeaveExportRow;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary file of leaves, written and read through memory-mapped windows.
+ * <p>
+ * A header holds the row count and the enum names, so a file survives new constants being
+ * added. Rows follow at a fixed width of {@value #ROW_BYTES} bytes: UUIDs as two longs, dates as
+ * epoch-day ints, working days as a float (whole or half days are exact) and enums as ordinal
+ * bytes. Row {@code i} is at a computed offset, so readers can also jump straight to it. Nulls
+ * are {@code -1} for enums, {@link Integer#MIN_VALUE} for dates and NaN for working days.
+ */
+public final class LeaveExportFile {
+
+    static final int MAGIC = 0x4C564558; // "LVEX"
+    static final int FORMAT = 1;
+    static final int ROW_BYTES = 46;
+    static final int ROWS_PER_WINDOW = 1 << 20; // About 46 MB mapped at a time
+
+    private static final int COUNT_OFFSET = 8; // After magic and format
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private LeaveExportFile() {
+    }
+
+    public static Writer create(Path path) throws IOException {
+        return new Writer(path, ROWS_PER_WINDOW);
+    }
+
+    public static Reader open(Path path) throws IOException {
+        return new Reader(path, ROWS_PER_WINDOW);
+    }
+
+    /** ------------------ WRITER ------------------ **/
+    public static final class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final long dataStart;
+        private final int rowsPerWindow;
+        private MappedByteBuffer window;
+        private long rows;
+
+        Writer(Path path, int rowsPerWindow) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.rowsPerWindow = rowsPerWindow;
+            ByteBuffer header = ByteBuffer.allocate(4096);
+            header.putInt(MAGIC).putInt(FORMAT).putLong(0L);
+            putNames(header, LeaveType.values());
+            putNames(header, LeaveStatus.values());
+            header.flip();
+            channel.write(header, 0);
+            this.dataStart = header.limit();
+        }
+
+        public void write(LeaveExportRow row) throws IOException {
+            write(row.getId(), row.getUserId(), row.getType(), row.getStatus(),
+                    row.getStartDate(), row.getEndDate(), row.getWorkingDays());
+        }
+
+        public void write(UUID id, UUID userId, LeaveType type, LeaveStatus status,
+                          LocalDate startDate, LocalDate endDate, Double workingDays) throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                // Mapping past the end grows the file; close() trims it back to the rows written
+                window = channel.map(FileChannel.MapMode.READ_WRITE, dataStart + rows * ROW_BYTES,
+                        (long) rowsPerWindow * ROW_BYTES);
+            }
+            window.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits())
+                    .putLong(userId.getMostSignificantBits()).putLong(userId.getLeastSignificantBits())
+                    .putInt(startDate != null ? (int) startDate.toEpochDay() : NO_DATE)
+                    .putInt(endDate != null ? (int) endDate.toEpochDay() : NO_DATE)
+                    .putFloat(workingDays != null ? workingDays.floatValue() : Float.NaN)
+                    .put(type != null ? (byte) type.ordinal() : -1)
+                    .put(status != null ? (byte) status.ordinal() : -1);
+            rows++;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                if (window != null) window.force();
+                window = null;
+                channel.truncate(dataStart + rows * ROW_BYTES);
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, rows), COUNT_OFFSET);
+            }
+        }
+    }
+
+    /** ------------------ READER ------------------ **/
+    public static final class Reader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final long dataStart;
+        private final long rows;
+        private final int rowsPerWindow;
+        private final LeaveType[] types;
+        private final LeaveStatus[] statuses;
+        private final MappedByteBuffer[] windows;
+
+        Reader(Path path, int rowsPerWindow) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.rowsPerWindow = rowsPerWindow;
+            ByteBuffer header = ByteBuffer.allocate((int) Math.min(channel.size(), 4096));
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < COUNT_OFFSET + Long.BYTES || header.getInt() != MAGIC || header.getInt() != FORMAT) {
+                channel.close();
+                throw new RuntimeException("Not a leave export file: " + path);
+            }
+            this.rows = header.getLong();
+            this.types = getNames(header, LeaveType.class);
+            this.statuses = getNames(header, LeaveStatus.class);
+            this.dataStart = header.position();
+            this.windows = new MappedByteBuffer[(int) ((rows + rowsPerWindow - 1) / rowsPerWindow)];
+        }
+
+        public long size() {
+            return rows;
+        }
+
+        public LeaveExportRow get(long index) throws IOException {
+            if (index < 0 || index >= rows) {
+                throw new IndexOutOfBoundsException("Row " + index + " of " + rows);
+            }
+            ByteBuffer window = window((int) (index / rowsPerWindow));
+            return readRow(window, (int) (index % rowsPerWindow) * ROW_BYTES);
+        }
+
+        // Every row in file order
+        public void forEach(Consumer<LeaveExportRow> action) throws IOException {
+            for (int w = 0; w < windows.length; w++) {
+                ByteBuffer window = window(w);
+                for (int offset = 0; offset < window.limit(); offset += ROW_BYTES) {
+                    action.accept(readRow(window, offset));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private ByteBuffer window(int w) throws IOException {
+            if (windows[w] == null) {
+                long first = (long) w * rowsPerWindow;
+                long count = Math.min(rowsPerWindow, rows - first);
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, dataStart + first * ROW_BYTES, count * ROW_BYTES);
+            }
+            return windows[w];
+        }
+
+        private LeaveExportRow readRow(ByteBuffer window, int offset) {
+            UUID id = new UUID(window.getLong(offset), window.getLong(offset + 8));
+            UUID userId = new UUID(window.getLong(offset + 16), window.getLong(offset + 24));
+            int startDay = window.getInt(offset + 32);
+            int endDay = window.getInt(offset + 36);
+            float workingDays = window.getFloat(offset + 40);
+            byte type = window.get(offset + 44);
+            byte status = window.get(offset + 45);
+            return new LeaveExportRow(id, userId,
+                    type >= 0 ? types[type] : null,
+                    status >= 0 ? statuses[status] : null,
+                    startDay != NO_DATE ? LocalDate.ofEpochDay(startDay) : null,
+                    endDay != NO_DATE ? LocalDate.ofEpochDay(endDay) : null,
+                    Float.isNaN(workingDays) ? null : (double) workingDays);
+        }
+    }
+
+    /** ------------------ HELPER ------------------ **/
+    private static void putNames(ByteBuffer out, Enum<?>[] constants) {
+        out.put((byte) constants.length);
+        for (Enum<?> constant : constants) {
+            byte[] name = constant.name().getBytes(StandardCharsets.US_ASCII);
+            out.put((byte) name.length).put(name);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> E[] getNames(ByteBuffer in, Class<E> type) {
+        E[] constants = (E[]) Array.newInstance(type, in.get());
+        for (int i = 0; i < constants.length; i++) {
+            byte[] name = new byte[in.get()];
+            in.get(name);
+            constants[i] = Enum.valueOf(type, new String(name, StandardCharsets.US_ASCII));
+        }
+        return constants;
+    }
+}
@@ -0,0 +1,190 @@
+package leave_management_project.leave_management.service;
+
+import jakarta.persistence.EntityManager;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads historical leaves from CSV with batched inserts.
+ * <p>
+ * Expected header: {@code userId,type,status,startDate,endDate,reason[,workingDays]}. Rows are
+ * saved in chunks that Hibernate sends as JDBC batches of {@code hibernate.jdbc.batch_size}, and
+ * the persistence context is cleared after each chunk so memory stays flat however large the
+ * file is. Imported leaves are history: balances are not touched, but the dashboard summaries
+ * of each chunk's users are recomputed from the table. A row overlapping another active leave of
+ * the same user fails the whole file.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveImportService {
+
+    static final int CHUNK_SIZE = 500;
+    // Exclusion constraint from V8__leave_no_overlap.sql
+    static final String NO_OVERLAP_CONSTRAINT = "ex_leaves_user_no_overlap";
+
+    private final LeaveRepository leaveRepository;
+    private final EntityManager entityManager;
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final LeaveConflictIndex leaveConflictIndex;
+    private final LeaveEventLog leaveEventLog;
+    private final ClusterNotifier clusterNotifier;
+    private final LeaveSummaryProjection leaveSummaryProjection;
+
+    // All or nothing: a bad row rolls back the whole file
+    @Transactional
+    public int importCsv(InputStream csv, String role) throws IOException {
+        if (!"ADMIN".equals(role)) {
+            throw new RuntimeException("Access denied: Only Admin can import leaves");
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty");
+        }
+
+        List<Leave> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<LeaveIntervalDto> approved = new ArrayList<>();
+        Set<UUID> users = new HashSet<>();
+        int imported = 0;
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+
+            Leave leave = parseRow(line, lineNumber);
+            chunk.add(leave);
+            if (chunk.size() == CHUNK_SIZE) {
+                imported += saveChunk(chunk, approved, users);
+            }
+        }
+        imported += saveChunk(chunk, approved, users);
+
+        clusterNotifier.leavesChanged(users);
+        clusterNotifier.approvalsChanged(approved.stream().map(LeaveIntervalDto::getId).toList());
+        TransactionHooks.afterCommit(() -> {
+            approved.forEach(approvedLeaveIndex::add);
+            leaveConflictIndex.evict(users);
+        });
+        return imported;
+    }
+
+    private int saveChunk(List<Leave> chunk, List<LeaveIntervalDto> approved, Set<UUID> users) {
+        if (chunk.isEmpty()) return 0;
+        try {
+            leaveRepository.saveAll(chunk);
+            leaveEventLog.imported(chunk);
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            String constraint = constraintName(e);
+            if (NO_OVERLAP_CONSTRAINT.equals(constraint)) {
+                throw new RuntimeException("Invalid CSV: a row overlaps another pending or approved leave of the same user");
+            }
+            throw new RuntimeException("Invalid CSV row: violates constraint " + constraint);
+        }
+        entityManager.clear();
+        Set<UUID> chunkUsers = chunk.stream().map(Leave::getUserId).collect(Collectors.toSet());
+        leaveSummaryProjection.rebuild(chunkUsers);
+        users.addAll(chunkUsers);
+        for (Leave leave : chunk) {
+            if (leave.getStatus() == LeaveStatus.APPROVED) {
+                approved.add(new LeaveIntervalDto(leave.getId(), leave.getUserId(), leave.getType(),
+                        leave.getStartDate(), leave.getEndDate()));
+            }
+        }
+        int saved = chunk.size();
+        chunk.clear();
+        return saved;
+    }
+
+    // Hibernate's PostgreSQL extractor has no case for exclusion violations (23P01), so fall back to the
+    // constraint the server reports; batched inserts carry it on the BatchUpdateException's next exception
+    static String constraintName(ConstraintViolationException e) {
+        if (e.getConstraintName() != null) return e.getConstraintName();
+        for (SQLException sql = e.getSQLException(); sql != null; sql = sql.getNextException()) {
+            if (sql instanceof PSQLException psql && psql.getServerErrorMessage() != null) {
+                return psql.getServerErrorMessage().getConstraint();
+            }
+        }
+        return null;
+    }
+
+    /** ------------------ PARSING ------------------ **/
+    private static Leave parseRow(String line, int lineNumber) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 6) {
+            throw new RuntimeException("Invalid CSV at line " + lineNumber + ": expected at least 6 columns");
+        }
+        try {
+            LocalDate start = LocalDate.parse(fields.get(3).trim());
+            LocalDate end = LocalDate.parse(fields.get(4).trim());
+            if (end.isBefore(start)) {
+                throw new IllegalArgumentException("endDate is before startDate");
+            }
+            String workingDays = fields.size() > 6 ? fields.get(6).trim() : "";
+            return Leave.builder()
+                    .userId(UUID.fromString(fields.get(0).trim()))
+                    .type(LeaveType.valueOf(fields.get(1).trim().toUpperCase()))
+                    .status(LeaveStatus.valueOf(fields.get(2).trim().toUpperCase()))
+                    .startDate(start)
+                    .endDate(end)
+                    .reason(fields.get(5))
+                    .workingDays(workingDays.isEmpty() ? null : Double.valueOf(workingDays))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid CSV at line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,101 @@
+package leave_management_project.leave_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveFilterDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeavePageDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read paths for large leave listings: keyset pages and NDJSON streams of {@link LeaveListItem}.
+ * Neither holds more than one page (or one fetch batch) of rows in memory.
+ */
+@Service
+public class LeaveQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int FLUSH_EVERY = 500;
+
+    private final LeaveRepository leaveRepository;
+    private final ObjectWriter leaveWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public LeaveQueryService(LeaveRepository leaveRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.leaveRepository = leaveRepository;
+        this.leaveWriter = objectMapper.writerFor(LeaveListItem.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** ------------------ KEYSET PAGES ------------------ **/
+    public LeavePageDto getPage(LeaveFilterDto filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate afterStartDate = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterStartDate = LocalDate.parse(key[0]);
+                afterId = UUID.fromString(key[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // One extra row tells us whether another page exists
+        List<LeaveListItem> rows = leaveRepository.findPage(filter, afterStartDate, afterId, limit + 1);
+        if (rows.size() <= limit) {
+            return new LeavePageDto(rows, null);
+        }
+        List<LeaveListItem> page = rows.subList(0, limit);
+        LeaveListItem last = page.get(limit - 1);
+        return new LeavePageDto(page, encodeCursor(last.getStartDate(), last.getId()));
+    }
+
+    /** ------------------ NDJSON STREAM ------------------ **/
+    // Writes one JSON document per line; rows are plain DTOs, so nothing accumulates in the persistence context
+    public void streamNdjson(LeaveFilterDto filter, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<LeaveListItem> leaves = leaveRepository.streamFiltered(filter, STREAM_FETCH_SIZE)) {
+                int[] written = {0};
+                leaves.forEach(leave -> {
+                    try {
+                        out.write(leaveWriter.writeValueAsBytes(leave));
+                        out.write('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** ------------------ CURSOR ------------------ **/
+    static String encodeCursor(LocalDate startDate, UUID id) {
+        String key = startDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
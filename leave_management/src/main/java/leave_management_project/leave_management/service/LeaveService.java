@@ -1,70 +1,97 @@
 package leave_management_project.leave_management.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import leave_management_project.leave_management.Repository.LeaveRepository;
 import leave_management_project.leave_management.Repository.PublicHolidayRepository;
+import leave_management_project.leave_management.dto.BulkDecisionDto;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeaveSummaryDto;
 import leave_management_project.leave_management.enumClass.LeaveStatus;
 import leave_management_project.leave_management.enumClass.LeaveType;
 import leave_management_project.leave_management.model.Leave;
 import leave_management_project.leave_management.model.PublicHoliday;
+import leave_management_project.leave_management.model.StoredDocument;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LeaveService {
 
+    private static final int DECISION_ATTEMPTS = 3;             // Tries of a single approve or reject
+    private static final long RETRY_BACKOFF_NANOS = 5_000_000L; // Longest pause before a retry, times the attempt
+
     private final LeaveRepository leaveRepository;
     private final EmailService emailService;
     private final PublicHolidayRepository publicHolidayRepository;
-
-    private final Map<UUID, Map<LeaveType, Double>> leaveBalances = new HashMap<>();
-    private final Map<UUID, Double> carryoverBalances = new HashMap<>();
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final ApprovedLeaveIndex approvedLeaveIndex;
+    private final LeaveConflictIndex leaveConflictIndex;
+    private final HolidayCalendar holidayCalendar;
+    private final DocumentStore documentStore;
+    private final CacheEvictor cacheEvictor;
+    private final LeaveSummaryProjection leaveSummaryProjection;
+    private final LeaveEventLog leaveEventLog;
+    private final LeaveChangeBus leaveChangeBus;
+    private final ClusterNotifier clusterNotifier;
+    private final YearEndCarryover yearEndCarryover;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
 
     /** ------------------ LEAVE BALANCE ------------------ **/
-    private void ensureUserBalance(UUID userId) {
-        if (!leaveBalances.containsKey(userId)) {
-            initUserBalance(userId);
-        }
-    }
-
+    @Timed(value = "leave.operation", extraTags = {"operation", "init_balance"})
+    @Transactional
     public void initUserBalance(UUID userId) {
-        Map<LeaveType, Double> balances = new EnumMap<>(LeaveType.class);
-        balances.put(LeaveType.ANNUAL, 10.0);
-        balances.put(LeaveType.PTO, 20.0);
-        balances.put(LeaveType.SICK, 10.0);
-        balances.put(LeaveType.COMPASSIONATE, 5.0);
-        balances.put(LeaveType.MATERNITY, 90.0);
-        balances.put(LeaveType.PATERNITY, 10.0);
-        balances.put(LeaveType.UNPAID, 0.0);
-        balances.put(LeaveType.OTHER, 5.0);
-        leaveBalances.put(userId, balances);
+        leaveBalanceLedger.reset(userId);
     }
 
+    @Timed(value = "leave.operation", extraTags = {"operation", "adjust_balance"})
+    @Transactional
     public void adjustBalance(UUID userId, LeaveType type, double newBalance, String role) {
         if (!"ADMIN".equals(role)) {
             throw new RuntimeException("Access denied: Only Admin can adjust leave balances");
         }
-        ensureUserBalance(userId);
-        leaveBalances.get(userId).put(type, newBalance);
+        leaveBalanceLedger.set(userId, type, newBalance);
     }
 
     /** ------------------ LEAVE REQUEST ------------------ **/
+    @Timed(value = "leave.operation", extraTags = {"operation", "apply"})
+    @Transactional(rollbackFor = IOException.class)
     public Leave applyLeave(UUID userId, String userEmail, LeaveType type, LocalDate start, LocalDate end,
                             String reason, MultipartFile document) throws IOException {
-        ensureUserBalance(userId);
-        long daysRequested = ChronoUnit.DAYS.between(start, end) + 1;
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        LeaveConflictIndex.Reservation reservation = leaveConflictIndex.reserve(userId, start, end);
+
+        int daysRequested = holidayCalendar.countWorkingDays(start, end);
+        if (daysRequested == 0) {
+            throw new RuntimeException("Requested period contains no working days");
+        }
         deductBalance(userId, type, daysRequested);
 
-        String documentPath = saveDocument(document);
+        StoredDocument storedDocument = storeDocument(document);
 
         Leave leave = Leave.builder()
                 .userId(userId)
@@ -73,10 +100,17 @@ public class LeaveService {
                 .startDate(start)
                 .endDate(end)
                 .reason(reason)
-                .documentPath(documentPath)
+                .documentHash(storedDocument != null ? storedDocument.getHash() : null)
+                .documentName(storedDocument != null ? safeFileName(document) : null)
+                .workingDays((double) daysRequested)
                 .build();
 
-        Leave savedLeave = leaveRepository.save(leave);
+        Leave savedLeave = saveActive(leave);
+        reservation.bind(savedLeave.getId());
+        leaveEventLog.applied(savedLeave, daysRequested);
+        leaveSummaryProjection.applied(savedLeave);
+        leaveChangeBus.applied(savedLeave);
+        clusterNotifier.leavesChanged(List.of(userId));
 
         if (userEmail != null && !userEmail.isEmpty()) {
             emailService.sendEmail(
@@ -90,57 +124,208 @@ public class LeaveService {
     }
 
     /** ------------------ APPROVAL / REJECTION ------------------ **/
+    // Each decision is one conditional UPDATE: of two managers deciding the same leave, the second finds it decided
+    @Timed(value = "leave.operation", extraTags = {"operation", "approve"})
     public Leave approveLeave(UUID leaveId, String comment, String role, String managerEmail, String userEmail) {
         if (!"MANAGER".equals(role) && !"ADMIN".equals(role)) {
             throw new RuntimeException("Access denied: Only Manager or Admin can approve leaves");
         }
 
-        Leave leave = leaveRepository.findById(leaveId)
-                .orElseThrow(() -> new RuntimeException("Leave not found"));
-        leave.setStatus(LeaveStatus.APPROVED);
-        leave.setManagerComment(comment);
-        Leave savedLeave = leaveRepository.save(leave);
+        return withRetry(() -> {
+            Leave leave = decidePending(leaveId, LeaveStatus.APPROVED, comment);
+            leaveSummaryProjection.decided(List.of(leave), LeaveStatus.PENDING, LeaveStatus.APPROVED);
+            leaveEventLog.approved(List.of(leave));
+            leaveChangeBus.decided(List.of(leave), LeaveStatus.PENDING, false);
+            clusterNotifier.approvalsChanged(List.of(leaveId));
+            TransactionHooks.afterCommit(() -> approvedLeaveIndex.add(toInterval(leave)));
+
+            if (userEmail != null && !userEmail.isEmpty()) {
+                emailService.sendEmail(
+                        userEmail,
+                        "Leave Approved",
+                        "Your leave from " + leave.getStartDate() + " to " + leave.getEndDate() +
+                                " has been approved by " + managerEmail
+                );
+            }
+            return leave;
+        });
+    }
 
-        if (userEmail != null && !userEmail.isEmpty()) {
-            emailService.sendEmail(
-                    userEmail,
-                    "Leave Approved",
-                    "Your leave from " + leave.getStartDate() + " to " + leave.getEndDate() +
-                            " has been approved by " + managerEmail
-            );
+    @Timed(value = "leave.operation", extraTags = {"operation", "reject"})
+    public Leave rejectLeave(UUID leaveId, String comment, String role, String managerEmail, String userEmail) {
+        if (!"MANAGER".equals(role) && !"ADMIN".equals(role)) {
+            throw new RuntimeException("Access denied: Only Manager or Admin can reject leaves");
         }
 
-        return savedLeave;
+        return withRetry(() -> {
+            Leave leave = decidePending(leaveId, LeaveStatus.REJECTED, comment);
+
+            // Refund leave balance
+            leaveBalanceLedger.refund(leave.getUserId(), leave.getType(), deductedDays(leave));
+
+            leaveSummaryProjection.decided(List.of(leave), LeaveStatus.PENDING, LeaveStatus.REJECTED);
+            leaveEventLog.rejected(List.of(leave));
+            leaveChangeBus.decided(List.of(leave), LeaveStatus.PENDING, true);
+            clusterNotifier.leavesChanged(List.of(leave.getUserId()));
+            TransactionHooks.afterCommit(() -> leaveConflictIndex.release(leave.getUserId(), leaveId));
+
+            if (userEmail != null && !userEmail.isEmpty()) {
+                emailService.sendEmail(
+                        userEmail,
+                        "Leave Rejected",
+                        "Your leave from " + leave.getStartDate() + " to " + leave.getEndDate() +
+                                " has been rejected by " + managerEmail
+                );
+            }
+            return leave;
+        });
     }
 
-    public Leave rejectLeave(UUID leaveId, String comment, String role, String managerEmail, String userEmail) {
+    // Moves a PENDING leave to status; the reason it cannot is only looked up when it fails
+    private Leave decidePending(UUID leaveId, LeaveStatus status, String comment) {
+        Leave leave = leaveRepository.decidePending(leaveId, status, comment).orElseThrow(() -> {
+            LeaveStatus current = leaveRepository.findStatusById(leaveId)
+                    .orElseThrow(() -> new RuntimeException("Leave not found"));
+            return current.canMoveTo(status)
+                    ? new OptimisticLockingFailureException("Leave " + leaveId + " changed while it was being decided")
+                    : new RuntimeException("Leave is already " + current + " and cannot be " + status);
+        });
+        // An instance loaded earlier in the same persistence context wins over the RETURNING row; reload it
+        if (leave.getStatus() != status) {
+            entityManager.refresh(leave);
+        }
+        return leave;
+    }
+
+    // Runs a decision in its own transaction, again after a lock conflict or deadlock, at most DECISION_ATTEMPTS times
+    private <T> T withRetry(Supplier<T> decision) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return decision.get(); // Part of a caller's transaction, which cannot be retried from here
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> decision.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= DECISION_ATTEMPTS) throw e;
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(RETRY_BACKOFF_NANOS * attempt));
+            }
+        }
+    }
+
+    /** ------------------ BULK DECISIONS ------------------ **/
+    // Approves every PENDING leave in the list with one locked read and one UPDATE
+    @Timed(value = "leave.operation", extraTags = {"operation", "bulk_approve"})
+    @Transactional
+    public BulkDecisionDto bulkApprove(Collection<UUID> leaveIds, String comment, String role,
+                                       UUID managerId, String managerEmail) {
+        if (!"MANAGER".equals(role) && !"ADMIN".equals(role)) {
+            throw new RuntimeException("Access denied: Only Manager or Admin can approve leaves");
+        }
+
+        List<Leave> leaves = lockPendingForDecision(leaveIds, managerId);
+        List<UUID> ids = leaves.stream().map(Leave::getId).toList();
+        if (!ids.isEmpty()) {
+            leaveRepository.updateStatus(ids, LeaveStatus.PENDING, LeaveStatus.APPROVED, comment);
+        }
+        decided(leaves, LeaveStatus.APPROVED, comment);
+        leaveSummaryProjection.decided(leaves, LeaveStatus.PENDING, LeaveStatus.APPROVED);
+        leaveEventLog.approved(leaves);
+        leaveChangeBus.decided(leaves, LeaveStatus.PENDING, false);
+        clusterNotifier.approvalsChanged(ids);
+
+        List<LeaveIntervalDto> intervals = leaves.stream().map(LeaveService::toInterval).toList();
+        TransactionHooks.afterCommit(() -> intervals.forEach(approvedLeaveIndex::add));
+        notifyDecision(leaves, "Leave Approved", "approved", managerEmail);
+
+        return new BulkDecisionDto(ids, skipped(leaveIds, ids));
+    }
+
+    // Rejects every PENDING leave in the list and refunds balances once per user and type
+    @Timed(value = "leave.operation", extraTags = {"operation", "bulk_reject"})
+    @Transactional
+    public BulkDecisionDto bulkReject(Collection<UUID> leaveIds, String comment, String role,
+                                      UUID managerId, String managerEmail) {
         if (!"MANAGER".equals(role) && !"ADMIN".equals(role)) {
             throw new RuntimeException("Access denied: Only Manager or Admin can reject leaves");
         }
 
-        Leave leave = leaveRepository.findById(leaveId)
-                .orElseThrow(() -> new RuntimeException("Leave not found"));
-        leave.setStatus(LeaveStatus.REJECTED);
-        leave.setManagerComment(comment);
+        List<Leave> leaves = lockPendingForDecision(leaveIds, managerId);
+        List<UUID> ids = leaves.stream().map(Leave::getId).toList();
+        if (!ids.isEmpty()) {
+            leaveRepository.updateStatus(ids, LeaveStatus.PENDING, LeaveStatus.REJECTED, comment);
+        }
+        decided(leaves, LeaveStatus.REJECTED, comment);
+        leaveSummaryProjection.decided(leaves, LeaveStatus.PENDING, LeaveStatus.REJECTED);
+        leaveEventLog.rejected(leaves);
+        leaveChangeBus.decided(leaves, LeaveStatus.PENDING, true);
+        clusterNotifier.leavesChanged(leaves.stream().map(Leave::getUserId).collect(Collectors.toSet()));
+
+        Map<UUID, Map<LeaveType, Double>> refunds = new HashMap<>();
+        for (Leave leave : leaves) {
+            refunds.computeIfAbsent(leave.getUserId(), u -> new EnumMap<>(LeaveType.class))
+                    .merge(leave.getType(), deductedDays(leave), Double::sum);
+        }
+        refunds.forEach((userId, byType) ->
+                byType.forEach((type, days) -> leaveBalanceLedger.refund(userId, type, days)));
+        TransactionHooks.afterCommit(() ->
+                leaves.forEach(leave -> leaveConflictIndex.release(leave.getUserId(), leave.getId())));
 
-        // Refund leave balance
-        ensureUserBalance(leave.getUserId());
-        long daysRequested = ChronoUnit.DAYS.between(leave.getStartDate(), leave.getEndDate()) + 1;
-        Map<LeaveType, Double> balances = leaveBalances.get(leave.getUserId());
-        balances.put(leave.getType(), balances.getOrDefault(leave.getType(), 0.0) + daysRequested);
+        notifyDecision(leaves, "Leave Rejected", "rejected", managerEmail);
 
-        Leave savedLeave = leaveRepository.save(leave);
+        return new BulkDecisionDto(ids, skipped(leaveIds, ids));
+    }
 
-        if (userEmail != null && !userEmail.isEmpty()) {
-            emailService.sendEmail(
-                    userEmail,
-                    "Leave Rejected",
-                    "Your leave from " + leave.getStartDate() + " to " + leave.getEndDate() +
-                            " has been rejected by " + managerEmail
-            );
+    // The UPDATE bypasses the loaded (now detached) leaves; bring them in line before they are published
+    private static void decided(List<Leave> leaves, LeaveStatus status, String comment) {
+        for (Leave leave : leaves) {
+            leave.setStatus(status);
+            leave.setManagerComment(comment);
+            leave.setVersion(leave.getVersion() + 1);
         }
+    }
 
-        return savedLeave;
+    // Loads and locks the pending leaves; a manager's own leaves are left out
+    private List<Leave> lockPendingForDecision(Collection<UUID> leaveIds, UUID managerId) {
+        if (leaveIds == null || leaveIds.isEmpty()) {
+            throw new RuntimeException("No leave ids given");
+        }
+        return leaveRepository.findByIdInAndStatus(new LinkedHashSet<>(leaveIds), LeaveStatus.PENDING)
+                .stream()
+                .filter(leave -> !leave.getUserId().equals(managerId))
+                .toList();
+    }
+
+    private void notifyDecision(List<Leave> leaves, String subject, String verb, String managerEmail) {
+        List<SimpleMailMessage> messages = new ArrayList<>(leaves.size());
+        for (Leave leave : leaves) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(getUserEmailById(leave.getUserId()));
+            message.setSubject(subject);
+            message.setText("Your leave from " + leave.getStartDate() + " to " + leave.getEndDate() +
+                    " has been " + verb + " by " + managerEmail);
+            messages.add(message);
+        }
+        emailService.sendEmails(messages);
+    }
+
+    private static List<UUID> skipped(Collection<UUID> requested, List<UUID> updated) {
+        Set<UUID> done = new HashSet<>(updated);
+        return requested.stream().distinct().filter(id -> !done.contains(id)).toList();
+    }
+
+    /** ------------------ DOCUMENTS ------------------ **/
+    // Staff may fetch their own attachments; managers and admins any
+    @Timed(value = "leave.operation", extraTags = {"operation", "get_document"})
+    public Leave getLeaveWithDocument(UUID leaveId, UUID requesterId, String role) {
+        Leave leave = leaveRepository.findById(leaveId)
+                .orElseThrow(() -> new RuntimeException("Leave not found"));
+        if (!leave.getUserId().equals(requesterId) && !"MANAGER".equals(role) && !"ADMIN".equals(role)) {
+            throw new RuntimeException("Access denied: Not your leave");
+        }
+        if (leave.getDocumentHash() == null) {
+            throw new RuntimeException("No document attached to this leave");
+        }
+        return leave;
     }
 
     /** ------------------ FETCH EMAIL ------------------ **/
@@ -159,70 +344,105 @@ public class LeaveService {
     }
 
     /** ------------------ CARRYOVER ------------------ **/
+    // Carries last year over for one user now, with the same rules as the year-end job; at most once per year
+    @Timed(value = "leave.operation", extraTags = {"operation", "carryover"})
+    @Transactional
     public void processCarryover(UUID userId) {
-        ensureUserBalance(userId);
-        Map<LeaveType, Double> balances = leaveBalances.get(userId);
-        double unusedAnnual = balances.getOrDefault(LeaveType.ANNUAL, 0.0);
-        carryoverBalances.put(userId, unusedAnnual * 0.1); // example 10% carryover
-        balances.put(LeaveType.ANNUAL, 0.0);
+        leaveBalanceLedger.getBalances(userId); // seeds the user's rows if they have none yet
+        yearEndCarryover.carryOver(LocalDate.now().getYear() - 1, List.of(userId));
     }
 
     /** ------------------ HELPER METHODS ------------------ **/
+    @Timed(value = "leave.operation", extraTags = {"operation", "view_balances"})
     public Map<LeaveType, Double> viewAllBalances(UUID userId) {
-        ensureUserBalance(userId);
-        return new HashMap<>(leaveBalances.get(userId));
+        return leaveBalanceLedger.getBalances(userId);
     }
 
-    public List<Leave> getMyLeaves(UUID userId) {
-        return leaveRepository.findByUserId(userId);
+    @Timed(value = "leave.operation", extraTags = {"operation", "my_leaves"})
+    public List<LeaveListItem> getMyLeaves(UUID userId) {
+        return leaveRepository.findItemsByUserIdOrderByStartDateAsc(userId);
     }
 
-    public List<Leave> getAllLeaves() {
-        return leaveRepository.findAll();
+    // Days taken per type, pending count and next leave, precomputed by LeaveSummaryProjection
+    @Timed(value = "leave.operation", extraTags = {"operation", "my_summary"})
+    public LeaveSummaryDto getMySummary(UUID userId) {
+        return leaveSummaryProjection.get(userId);
     }
 
-    private void deductBalance(UUID userId, LeaveType type, double days) {
-        ensureUserBalance(userId);
-        Map<LeaveType, Double> balances = leaveBalances.get(userId);
-        double currentBalance = balances.getOrDefault(type, 0.0);
-        if (currentBalance < days) {
-            throw new RuntimeException("Insufficient leave balance for type: " + type);
+    @Timed(value = "leave.operation", extraTags = {"operation", "all_leaves"})
+    public List<LeaveListItem> getAllLeaves() {
+        return leaveRepository.findItemsByOrderByStartDateAsc();
+    }
+
+    // What applyLeave took from the balance; leaves applied before working days were stored paid calendar days
+    static double deductedDays(Leave leave) {
+        if (leave.getWorkingDays() != null) {
+            return leave.getWorkingDays();
         }
-        balances.put(type, currentBalance - days);
+        return ChronoUnit.DAYS.between(leave.getStartDate(), leave.getEndDate()) + 1;
     }
 
-    private String saveDocument(MultipartFile document) throws IOException {
-        if (document == null || document.isEmpty()) return null;
+    // Flushed so the no-overlap constraint is checked here rather than at commit
+    private Leave saveActive(Leave leave) {
+        try {
+            return leaveRepository.saveAndFlush(leave);
+        } catch (DataIntegrityViolationException e) {
+            TransactionHooks.afterRollback(() -> leaveConflictIndex.evict(List.of(leave.getUserId())));
+            throw new RuntimeException("Requested period overlaps an existing leave");
+        }
+    }
 
-        String uploadDir = System.getProperty("user.dir") + "/uploads";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
+    private void deductBalance(UUID userId, LeaveType type, double days) {
+        leaveBalanceLedger.deduct(userId, type, days);
+    }
 
-        String safeFileName = UUID.randomUUID() + "_" +
-                document.getOriginalFilename().replaceAll("[^a-zA-Z0-9\\.\\-]", "_");
-        File destinationFile = new File(dir, safeFileName);
-        document.transferTo(destinationFile);
+    private StoredDocument storeDocument(MultipartFile document) throws IOException {
+        if (document == null || document.isEmpty()) return null;
 
-        return destinationFile.getAbsolutePath();
+        // Multipart bodies are spooled to disk by the container, so this streams from there
+        try (InputStream content = document.getInputStream()) {
+            return documentStore.store(content, document.getContentType());
+        }
+    }
+
+    private static String safeFileName(MultipartFile document) {
+        String name = document.getOriginalFilename();
+        return name == null ? "document" : name.replaceAll("[^a-zA-Z0-9\\.\\-]", "_");
     }
 
     /** ------------------ NEW FEATURE: PUBLIC HOLIDAYS ------------------ **/
+    @Timed(value = "leave.operation", extraTags = {"operation", "add_holiday"})
+    @Transactional
     public PublicHoliday addPublicHoliday(PublicHoliday holiday, String role) {
         if (!"ADMIN".equals(role)) {
             throw new RuntimeException("Access denied: Only Admin can add public holidays");
         }
-        return publicHolidayRepository.save(holiday);
+        PublicHoliday saved = publicHolidayRepository.save(holiday);
+        holidayCalendar.invalidate(saved.getDate().getYear());
+        clusterNotifier.holidaysChanged(saved.getDate().getYear());
+        cacheEvictor.publicHolidayChanged();
+        return saved;
     }
 
+    @Timed(value = "leave.operation", extraTags = {"operation", "upcoming_holidays"})
+    // Served from the query cache until a holiday is added
     public List<PublicHoliday> getUpcomingPublicHolidays() {
         return publicHolidayRepository.findByDateAfterOrderByDateAsc(LocalDate.now());
     }
 
     /** ------------------ NEW FEATURE: COLLEAGUES ON LEAVE ------------------ **/
-    public List<Leave> getColleaguesOnLeave(UUID currentUserId, LocalDate start, LocalDate end) {
-        return leaveRepository.findByStatusAndDateRange(LeaveStatus.APPROVED, start, end)
+    // Served from the in-memory approved-leave index; Postgres is not queried
+    @Timed(value = "leave.operation", extraTags = {"operation", "colleagues_on_leave"})
+    public List<LeaveIntervalDto> getColleaguesOnLeave(UUID currentUserId, LocalDate start, LocalDate end) {
+        return approvedLeaveIndex.findOverlapping(start, end)
                 .stream()
                 .filter(l -> !l.getUserId().equals(currentUserId))
                 .collect(Collectors.toList());
     }
+
+    /** ------------------ IN-MEMORY VIEWS ------------------ **/
+    private static LeaveIntervalDto toInterval(Leave leave) {
+        return new LeaveIntervalDto(leave.getId(), leave.getUserId(), leave.getType(),
+                leave.getStartDate(), leave.getEndDate());
+    }
 }
@@ -0,0 +1,161 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveEvent;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Balances and leave statuses folded from the {@code leave_event} log.
+ * <p>
+ * Single-threaded and allocation-light: a user is one {@code double[]} holding the balance and
+ * carryover of every type, a leave one small record, so a replay costs one or two map lookups
+ * per event. Snapshots write the state as gzipped binary, with the enum names up front so a
+ * snapshot survives new constants being added.
+ */
+final class LeaveState {
+
+    private static final int FORMAT = 1;
+    private static final LeaveType[] TYPES = LeaveType.values();
+    private static final LeaveStatus[] STATUSES = LeaveStatus.values();
+
+    record LeaveRef(UUID userId, LeaveStatus status) {
+    }
+
+    // Per user: balances by LeaveType ordinal, then carryovers by ordinal
+    private final Map<UUID, double[]> users = new HashMap<>();
+    private final Map<UUID, LeaveRef> leaves = new HashMap<>();
+    private long events;
+
+    /** ------------------ FOLD ------------------ **/
+    void apply(LeaveEvent event) {
+        events++;
+        LeaveStatus status = switch (event.getType()) {
+            case APPLIED -> LeaveStatus.PENDING;
+            case APPROVED -> LeaveStatus.APPROVED;
+            case REJECTED -> LeaveStatus.REJECTED;
+            case BALANCE_ADJUSTED, CARRIED_OVER -> null;
+        };
+        if (status != null) {
+            leaves.put(event.getLeaveId(), new LeaveRef(event.getUserId(), status));
+        }
+        if (event.getLeaveType() != null && (event.getBalanceDelta() != 0 || event.getCarryoverDelta() != 0)) {
+            double[] slots = users.computeIfAbsent(event.getUserId(), u -> new double[TYPES.length * 2]);
+            int i = event.getLeaveType().ordinal();
+            slots[i] += event.getBalanceDelta();
+            slots[TYPES.length + i] += event.getCarryoverDelta();
+        }
+    }
+
+    /** ------------------ READS ------------------ **/
+    long events() {
+        return events;
+    }
+
+    double balance(UUID userId, LeaveType type) {
+        double[] slots = users.get(userId);
+        return slots == null ? 0.0 : slots[type.ordinal()];
+    }
+
+    double carryover(UUID userId, LeaveType type) {
+        double[] slots = users.get(userId);
+        return slots == null ? 0.0 : slots[TYPES.length + type.ordinal()];
+    }
+
+    Iterable<UUID> users() {
+        return users.keySet();
+    }
+
+    LeaveRef leave(UUID leaveId) {
+        return leaves.get(leaveId);
+    }
+
+    int leaveCount() {
+        return leaves.size();
+    }
+
+    /** ------------------ SNAPSHOTS ------------------ **/
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(bytes)))) {
+            out.writeInt(FORMAT);
+            out.writeLong(events);
+            writeNames(out, TYPES);
+            writeNames(out, STATUSES);
+
+            out.writeInt(users.size());
+            for (Map.Entry<UUID, double[]> user : users.entrySet()) {
+                writeUuid(out, user.getKey());
+                for (double value : user.getValue()) out.writeDouble(value);
+            }
+            out.writeInt(leaves.size());
+            for (Map.Entry<UUID, LeaveRef> leave : leaves.entrySet()) {
+                writeUuid(out, leave.getKey());
+                writeUuid(out, leave.getValue().userId());
+                out.writeByte(leave.getValue().status().ordinal());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static LeaveState fromBytes(byte[] snapshot) {
+        LeaveState state = new LeaveState();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(snapshot))))) {
+            if (in.readInt() != FORMAT) {
+                throw new RuntimeException("Unsupported leave state snapshot format");
+            }
+            state.events = in.readLong();
+            LeaveType[] types = readNames(in, LeaveType.class);
+            LeaveStatus[] statuses = readNames(in, LeaveStatus.class);
+
+            int userCount = in.readInt();
+            for (int u = 0; u < userCount; u++) {
+                UUID userId = readUuid(in);
+                double[] slots = new double[TYPES.length * 2];
+                for (int i = 0; i < types.length; i++) slots[types[i].ordinal()] = in.readDouble();
+                for (int i = 0; i < types.length; i++) slots[TYPES.length + types[i].ordinal()] = in.readDouble();
+                state.users.put(userId, slots);
+            }
+            int leaveCount = in.readInt();
+            for (int l = 0; l < leaveCount; l++) {
+                UUID leaveId = readUuid(in);
+                UUID userId = readUuid(in);
+                state.leaves.put(leaveId, new LeaveRef(userId, statuses[in.readUnsignedByte()]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state;
+    }
+
+    private static void writeNames(DataOutputStream out, Enum<?>[] constants) throws IOException {
+        out.writeInt(constants.length);
+        for (Enum<?> constant : constants) out.writeUTF(constant.name());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> E[] readNames(DataInputStream in, Class<E> type) throws IOException {
+        E[] constants = (E[]) Array.newInstance(type, in.readInt());
+        for (int i = 0; i < constants.length; i++) constants[i] = Enum.valueOf(type, in.readUTF());
+        return constants;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
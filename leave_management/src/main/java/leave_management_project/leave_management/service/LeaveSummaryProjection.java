@@ -0,0 +1,130 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveDaysTakenRepository;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.Repository.LeaveSummaryRepository;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeaveSummaryDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import leave_management_project.leave_management.model.LeaveSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Per-user dashboard summary in {@code leave_summary} and {@code leave_days_taken}.
+ * <p>
+ * Every write is a relative upsert made in the caller's transaction, so the summary commits
+ * or rolls back together with the leave it describes, and a read is a primary-key lookup
+ * plus at most one row per {@link LeaveType}. The next upcoming leave is offered on apply,
+ * looked up again after decisions and moved on by a daily job once it has started; reads never
+ * write, and a read between the start and the job looks the next leave up without storing it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveSummaryProjection {
+
+    private final LeaveSummaryRepository leaveSummaryRepository;
+    private final LeaveDaysTakenRepository leaveDaysTakenRepository;
+    private final LeaveRepository leaveRepository;
+
+    private static final List<LeaveStatus> UPCOMING = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+    /** ------------------ READ ------------------ **/
+    @Transactional(readOnly = true)
+    public LeaveSummaryDto get(UUID userId) {
+        LocalDate today = LocalDate.now();
+        LeaveSummary summary = leaveSummaryRepository.findById(userId).orElse(null);
+
+        Map<LeaveType, Double> daysTaken = new EnumMap<>(LeaveType.class);
+        for (LeaveType type : LeaveType.values()) {
+            daysTaken.put(type, 0.0);
+        }
+        leaveDaysTakenRepository.findByUserIdAndYear(userId, today.getYear())
+                .forEach(row -> daysTaken.put(row.getType(), row.getDays()));
+
+        if (summary == null) {
+            return new LeaveSummaryDto(today.getYear(), daysTaken, 0, null);
+        }
+        return new LeaveSummaryDto(today.getYear(), daysTaken, summary.getPendingCount(), nextLeave(summary, today));
+    }
+
+    // The stored next leave, or a fresh lookup if it has started and refreshStarted has not run yet
+    private LeaveSummaryDto.NextLeave nextLeave(LeaveSummary summary, LocalDate today) {
+        if (summary.getNextStartDate() != null && summary.getNextStartDate().isBefore(today)) {
+            return leaveRepository
+                    .findFirstItemByUserIdAndStatusInAndStartDateGreaterThanEqualOrderByStartDateAscIdAsc(
+                            summary.getUserId(), UPCOMING, today)
+                    .map(LeaveSummaryProjection::toNextLeave)
+                    .orElse(null);
+        }
+        return summary.getNextLeaveId() == null ? null : new LeaveSummaryDto.NextLeave(
+                summary.getNextLeaveId(), summary.getNextType(), summary.getNextStatus(),
+                summary.getNextStartDate(), summary.getNextEndDate());
+    }
+
+    private static LeaveSummaryDto.NextLeave toNextLeave(LeaveListItem leave) {
+        return new LeaveSummaryDto.NextLeave(leave.getId(), leave.getType(), leave.getStatus(),
+                leave.getStartDate(), leave.getEndDate());
+    }
+
+    /** ------------------ SCHEDULING ------------------ **/
+    @Scheduled(cron = "${summary.refresh-cron:0 5 0 * * *}")
+    public void refreshStarted() {
+        leaveSummaryRepository.refreshStarted(LocalDate.now());
+    }
+
+    /** ------------------ INCREMENTAL UPDATES ------------------ **/
+    // A newly applied, PENDING leave
+    public void applied(Leave leave) {
+        leaveSummaryRepository.addToPending(leave.getUserId(), 1);
+        LocalDate today = LocalDate.now();
+        if (!leave.getStartDate().isBefore(today)) {
+            leaveSummaryRepository.offerNext(leave.getUserId(), leave.getId(), leave.getStartDate(),
+                    leave.getEndDate(), leave.getType().name(), leave.getStatus().name(), today);
+        }
+    }
+
+    // Leaves moved from previous to status; one upsert per user and per (user, year, type)
+    public void decided(Collection<Leave> leaves, LeaveStatus previous, LeaveStatus status) {
+        if (previous == status || leaves.isEmpty()) return;
+
+        Map<UUID, Integer> pending = new HashMap<>();
+        Map<DaysKey, Double> days = new HashMap<>();
+        for (Leave leave : leaves) {
+            int pendingDelta = (status == LeaveStatus.PENDING ? 1 : 0) - (previous == LeaveStatus.PENDING ? 1 : 0);
+            pending.merge(leave.getUserId(), pendingDelta, Integer::sum);
+
+            double approvedDelta = (status == LeaveStatus.APPROVED ? 1 : 0) - (previous == LeaveStatus.APPROVED ? 1 : 0);
+            if (approvedDelta != 0) {
+                DaysKey key = new DaysKey(leave.getUserId(), leave.getStartDate().getYear(), leave.getType());
+                days.merge(key, approvedDelta * LeaveService.deductedDays(leave), Double::sum);
+            }
+        }
+
+        // Also makes sure every user has a row before refreshNext
+        pending.forEach(leaveSummaryRepository::addToPending);
+        days.forEach((key, delta) ->
+                leaveDaysTakenRepository.addDays(key.userId(), key.year(), key.type().name(), delta));
+        leaveSummaryRepository.refreshNext(pending.keySet(), LocalDate.now());
+    }
+
+    // Recomputes the users' summaries from the leaves table, for bulk inserts such as CSV imports
+    public void rebuild(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) return;
+        leaveSummaryRepository.recountPending(userIds);
+        leaveSummaryRepository.clearPendingWithoutLeaves(userIds);
+        leaveDaysTakenRepository.recount(userIds);
+        leaveDaysTakenRepository.deleteUncounted(userIds);
+        leaveSummaryRepository.refreshNext(userIds, LocalDate.now());
+    }
+
+    private record DaysKey(UUID userId, int year, LeaveType type) {
+    }
+}
@@ -0,0 +1,245 @@
+package leave_management_project.leave_management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import leave_management_project.leave_management.Repository.EmailOutboxRepository;
+import leave_management_project.leave_management.config.NotificationProperties;
+import leave_management_project.leave_management.enumClass.EmailStatus;
+import leave_management_project.leave_management.model.EmailOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers mail queued in the {@code email_outbox} table.
+ * <p>
+ * Freshly committed messages are handed over through a bounded in-memory queue; a pool of
+ * workers drains it in batches and sends each batch over a single SMTP connection. Failed
+ * messages are retried with exponential backoff. Anything the queue could not hold, or that
+ * was pending when the application stopped, is picked up again by {@link #pollOutbox()}.
+ */
+@Slf4j
+@Service
+public class NotificationDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer smtpSuccess;
+    private final Timer smtpFailure;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    private final BlockingQueue<UUID> queue;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public NotificationDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                  JavaMailSender mailSender,
+                                  NotificationProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.smtpSuccess = smtpTimer(meterRegistry, "success");
+        this.smtpFailure = smtpTimer(meterRegistry, "failure");
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /** ------------------ LIFECYCLE ------------------ **/
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger counter = new AtomicInteger();
+        // Platform threads on purpose: the SMTP transport blocks inside synchronized methods, which would pin virtual threads
+        workers = Executors.newFixedThreadPool(properties.getWorkers(), r -> {
+            Thread thread = new Thread(r, "mail-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.submit(this::workLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** ------------------ QUEUEING ------------------ **/
+    // Never blocks the caller; a full queue just leaves the message for the poller
+    public void enqueue(UUID outboxId) {
+        if (!queue.offer(outboxId)) {
+            log.debug("Mail queue full, outbox entry {} left for the poller", outboxId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.poll-interval:30000}")
+    public void pollOutbox() {
+        int room = queue.remainingCapacity();
+        if (room == 0) return;
+        emailOutboxRepository.findDueIds(Instant.now(), room).forEach(this::enqueue);
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    /** ------------------ SENDING ------------------ **/
+    private void workLoop() {
+        List<UUID> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Leased rows become due again once the lease expires
+                log.warn("Mail batch of {} failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void processBatch(Collection<UUID> ids) {
+        List<EmailOutbox> claimed = claim(ids);
+        if (claimed.isEmpty()) return;
+        Map<EmailOutbox, Exception> failures = deliver(claimed);
+        recordOutcome(claimed, failures);
+    }
+
+    // Leases the rows so no other worker or instance sends them concurrently
+    private List<EmailOutbox> claim(Collection<UUID> ids) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutbox> rows = emailOutboxRepository.lockDue(new LinkedHashSet<>(ids), now);
+            rows.forEach(row -> row.setNextAttemptAt(now.plus(properties.getLease())));
+            return emailOutboxRepository.saveAll(rows);
+        });
+    }
+
+    // Sends the whole batch over one connection and returns the messages that failed
+    Map<EmailOutbox, Exception> deliver(List<EmailOutbox> batch) {
+        Map<EmailOutbox, Exception> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox row : batch) {
+            try {
+                messages.put(toMimeMessage(row), row);
+            } catch (MessagingException e) {
+                failures.put(row, e);
+            }
+        }
+        if (messages.isEmpty()) return failures;
+
+        long started = System.nanoTime();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            smtpSuccess.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (MailSendException e) {
+            smtpFailure.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                messages.values().forEach(row -> failures.put(row, e));
+            } else {
+                failed.forEach((message, cause) -> failures.put(messages.get(message), cause));
+            }
+        } catch (MailException e) {
+            smtpFailure.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            messages.values().forEach(row -> failures.put(row, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox row) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setTo(row.getRecipient());
+        helper.setSubject(row.getSubject());
+        helper.setText(row.getBody());
+        return message;
+    }
+
+    private void recordOutcome(List<EmailOutbox> batch, Map<EmailOutbox, Exception> failures) {
+        Instant now = Instant.now();
+        for (EmailOutbox row : batch) {
+            Exception failure = failures.get(row);
+            if (failure == null) {
+                row.setStatus(EmailStatus.SENT);
+                row.setSentAt(now);
+                row.setLastError(null);
+                sent.increment();
+                continue;
+            }
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (row.getAttempts() >= properties.getMaxAttempts()) {
+                row.setStatus(EmailStatus.FAILED);
+                failed.increment();
+                log.warn("Giving up on mail {} to {} after {} attempts", row.getId(), row.getRecipient(), row.getAttempts());
+            } else {
+                row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                retried.increment();
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private static Timer smtpTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("mail.send")
+                .description("SMTP time per batch")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("mail.messages")
+                .description("Delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -15,16 +15,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheEvictor cacheEvictor;
 
     public User registerUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        cacheEvictor.userChanged(saved.getId());
+        return saved;
     }
 
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    // Shares findByEmail's cached query, so registration checks cost no extra round-trip
     public boolean existsByEmail(String email) {
         return userRepository.findByEmail(email).isPresent();
     }
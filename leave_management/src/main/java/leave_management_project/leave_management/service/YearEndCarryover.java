@@ -0,0 +1,156 @@
+package leave_management_project.leave_management.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import leave_management_project.leave_management.Repository.CarryoverRunRepository;
+import leave_management_project.leave_management.Repository.LeaveBalanceRepository;
+import leave_management_project.leave_management.config.CarryoverProperties;
+import leave_management_project.leave_management.model.CarryoverRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Year-end carryover over every user with balances.
+ * <p>
+ * Users are paged by id in chunks of {@code carryover.chunk-size}; up to
+ * {@code carryover.parallelism} chunks run at once, each in its own transaction that first
+ * claims its users in {@code carryover_applied} and then issues one UPDATE per carryover rule.
+ * Claims and balance changes commit together, so after a crash the run resumes with the users
+ * that are not claimed yet, and a user is never carried over twice for the same year.
+ */
+@Slf4j
+@Service
+public class YearEndCarryover {
+
+    private static final UUID FIRST_ID = new UUID(0, 0); // Sorts first in Postgres, which compares uuids unsigned
+
+    private final CarryoverRunRepository carryoverRunRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final LeaveEventLog leaveEventLog;
+    private final ClusterNotifier clusterNotifier;
+    private final CarryoverProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public YearEndCarryover(CarryoverRunRepository carryoverRunRepository,
+                            LeaveBalanceRepository leaveBalanceRepository,
+                            LeaveBalanceLedger leaveBalanceLedger,
+                            LeaveEventLog leaveEventLog,
+                            ClusterNotifier clusterNotifier,
+                            CarryoverProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.carryoverRunRepository = carryoverRunRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.leaveEventLog = leaveEventLog;
+        this.clusterNotifier = clusterNotifier;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record Report(int year, long users, Duration elapsed) {
+        public double usersPerSecond() {
+            return elapsed.isZero() ? users : users * 1e9 / elapsed.toNanos();
+        }
+    }
+
+    /** ------------------ SCHEDULING ------------------ **/
+    @Scheduled(cron = "${carryover.cron:0 30 0 1 1 *}")
+    public void carryOverPreviousYear() {
+        if (!properties.isEnabled()) return;
+        int year = LocalDate.now().getYear() - 1;
+        CarryoverRun run = carryoverRunRepository.findById(year).orElse(null);
+        if (run != null && run.getFinishedAt() != null) return; // Another node got there first
+        run(year);
+    }
+
+    // Finishes runs a crash or shutdown interrupted
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        if (!properties.isEnabled()) return;
+        for (CarryoverRun run : carryoverRunRepository.findByFinishedAtIsNull()) {
+            log.info("Resuming carryover for {}", run.getYear());
+            run(run.getYear());
+        }
+    }
+
+    /** ------------------ RUN ------------------ **/
+    public Report run(int year) {
+        carryoverRunRepository.start(year, Instant.now());
+        long started = System.nanoTime();
+
+        int parallelism = Math.max(1, properties.getParallelism());
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism)) {
+            UUID after = FIRST_ID;
+            while (true) {
+                List<UUID> users = carryoverRunRepository.findUsersToCarryOver(year, after, properties.getChunkSize());
+                if (users.isEmpty()) break;
+                after = users.get(users.size() - 1);
+
+                inFlight.acquireUninterruptibly();
+                chunks.add(pool.submit(() -> {
+                    try {
+                        return carryOver(year, users);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+
+        long users = 0;
+        for (Future<Integer> chunk : chunks) {
+            try {
+                users += chunk.get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Carryover for " + year + " failed; it resumes on the next start", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Carryover for " + year + " interrupted");
+            }
+        }
+        carryoverRunRepository.finish(year, Instant.now());
+
+        Report report = new Report(year, users, Duration.ofNanos(System.nanoTime() - started));
+        meterRegistry.timer("carryover.run").record(report.elapsed());
+        log.info("Carried over {} users for {} in {} ms ({} users/s)",
+                report.users(), year, report.elapsed().toMillis(), Math.round(report.usersPerSecond()));
+        return report;
+    }
+
+    // Carries the given users over unless already done for the year; joins the caller's transaction if any
+    public int carryOver(int year, Collection<UUID> userIds) {
+        Integer done = transactionTemplate.execute(status -> {
+            List<UUID> claimed = carryoverRunRepository.claim(year, userIds, Instant.now());
+            if (claimed.isEmpty()) return 0;
+
+            properties.getRules().forEach((type, rule) -> {
+                double cap = rule.getCap() != null ? rule.getCap() : Double.MAX_VALUE;
+                leaveEventLog.carriedOver(claimed, type, rule.getFraction(), cap);
+                leaveBalanceRepository.carryOver(claimed, type.name(), rule.getFraction(), cap);
+            });
+            clusterNotifier.balancesChanged(claimed);
+            TransactionHooks.afterCommit(() -> leaveBalanceLedger.evict(claimed));
+            return claimed.size();
+        });
+        return done != null ? done : 0;
+    }
+}
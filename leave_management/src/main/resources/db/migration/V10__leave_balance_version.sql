@@ -0,0 +1,3 @@
+-- Optimistic-lock version for leave_balance. Entity writes are checked against it by Hibernate;
+-- the relative updates in LeaveBalanceRepository bump it, so every change to a row is visible.
+ALTER TABLE leave_balance ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Optimistic-lock version for leaves. Entity writes are checked against it by Hibernate; the
+-- conditional status updates in LeaveRepository bump it, so a stale copy cannot overwrite a decision.
+ALTER TABLE leaves ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,54 @@
+-- Schema as previously created by hibernate.ddl-auto=update.
+-- IF NOT EXISTS lets this run against databases that were created that way.
+
+CREATE TABLE IF NOT EXISTS app_user (
+    id                 uuid         NOT NULL PRIMARY KEY,
+    username           varchar(255),
+    email              varchar(255),
+    password           varchar(255),
+    role               varchar(255),
+    two_factor_enabled boolean      NOT NULL DEFAULT false,
+    google_avatar_url  varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS leaves (
+    id              uuid         NOT NULL PRIMARY KEY,
+    user_id         uuid,
+    type            varchar(255),
+    status          varchar(255),
+    start_date      date,
+    end_date        date,
+    reason          varchar(255),
+    document_path   varchar(255),
+    manager_comment varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS public_holiday (
+    id   uuid         NOT NULL PRIMARY KEY,
+    name varchar(255),
+    date date
+);
+
+CREATE TABLE IF NOT EXISTS leave_balance (
+    id        uuid             NOT NULL PRIMARY KEY,
+    user_id   uuid             NOT NULL,
+    type      varchar(255)     NOT NULL,
+    balance   double precision NOT NULL DEFAULT 0,
+    carryover double precision NOT NULL DEFAULT 0,
+    CONSTRAINT uk_leave_balance_user_type UNIQUE (user_id, type)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              uuid                     NOT NULL PRIMARY KEY,
+    recipient       varchar(255)             NOT NULL,
+    subject         varchar(255),
+    body            text,
+    status          varchar(255)             NOT NULL,
+    attempts        integer                  NOT NULL DEFAULT 0,
+    next_attempt_at timestamp(6) with time zone,
+    created_at      timestamp(6) with time zone,
+    sent_at         timestamp(6) with time zone,
+    last_error      varchar(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,15 @@
+-- findByUserId and per-user listings; INCLUDE lets list views be answered from the index
+CREATE INDEX IF NOT EXISTS idx_leaves_user_start
+    ON leaves (user_id, start_date) INCLUDE (end_date, status, type);
+
+-- Status-filtered date range scans (keyset pages filtered by status and from/to)
+CREATE INDEX IF NOT EXISTS idx_leaves_status_dates
+    ON leaves (status, start_date, end_date);
+
+-- findByStartDateBetween and the (start_date, id) keyset order of unfiltered pages
+CREATE INDEX IF NOT EXISTS idx_leaves_start_id
+    ON leaves (start_date, id);
+
+-- Overlap queries written as daterange(start_date, end_date, '[]') && daterange(:from, :to, '[]')
+CREATE INDEX IF NOT EXISTS idx_leaves_daterange
+    ON leaves USING gist (daterange(start_date, end_date, '[]'));
@@ -0,0 +1,3 @@
+-- Days actually deducted for a leave, so refunds match deductions even if holidays change later.
+-- NULL for leaves applied before working days were counted (they deducted calendar days).
+ALTER TABLE leaves ADD COLUMN IF NOT EXISTS working_days double precision;
@@ -0,0 +1,11 @@
+-- Leave attachments stored once per distinct content, keyed by SHA-256.
+CREATE TABLE IF NOT EXISTS stored_document (
+    hash         varchar(64)  NOT NULL PRIMARY KEY,
+    size         bigint       NOT NULL,
+    content_type varchar(255),
+    created_at   timestamptz  NOT NULL
+);
+
+-- document_path stays for attachments uploaded before the store existed
+ALTER TABLE leaves ADD COLUMN IF NOT EXISTS document_hash varchar(64);
+ALTER TABLE leaves ADD COLUMN IF NOT EXISTS document_name varchar(255);
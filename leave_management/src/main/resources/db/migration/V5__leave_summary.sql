@@ -0,0 +1,49 @@
+-- Per-user dashboard summary, kept current by LeaveSummaryProjection on apply, approve, reject and import.
+-- next_* is the earliest PENDING or APPROVED leave starting today or later; it is refreshed on read once it has started.
+CREATE TABLE IF NOT EXISTS leave_summary (
+    user_id         uuid         NOT NULL PRIMARY KEY,
+    pending_count   integer      NOT NULL DEFAULT 0,
+    next_leave_id   uuid,
+    next_start_date date,
+    next_end_date   date,
+    next_type       varchar(255),
+    next_status     varchar(255)
+);
+
+-- Approved days per user, type and year of the start date (working days, or calendar days for old leaves)
+CREATE TABLE IF NOT EXISTS leave_days_taken (
+    id         uuid             NOT NULL PRIMARY KEY,
+    user_id    uuid             NOT NULL,
+    leave_year integer          NOT NULL,
+    type       varchar(255)     NOT NULL,
+    days       double precision NOT NULL DEFAULT 0,
+    CONSTRAINT uk_leave_days_taken_user_year_type UNIQUE (user_id, leave_year, type)
+);
+
+-- Backfill from the leaves already stored
+INSERT INTO leave_summary (user_id, pending_count)
+SELECT user_id, COUNT(*) FILTER (WHERE status = 'PENDING')
+FROM leaves
+WHERE user_id IS NOT NULL
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
+
+UPDATE leave_summary s
+SET next_leave_id   = n.id,
+    next_start_date = n.start_date,
+    next_end_date   = n.end_date,
+    next_type       = n.type,
+    next_status     = n.status
+FROM (SELECT DISTINCT ON (user_id) id, user_id, start_date, end_date, type, status
+      FROM leaves
+      WHERE status IN ('PENDING', 'APPROVED') AND start_date >= CURRENT_DATE
+      ORDER BY user_id, start_date, id) n
+WHERE s.user_id = n.user_id;
+
+INSERT INTO leave_days_taken (id, user_id, leave_year, type, days)
+SELECT gen_random_uuid(), user_id, CAST(EXTRACT(YEAR FROM start_date) AS integer), type,
+       SUM(COALESCE(working_days, end_date - start_date + 1))
+FROM leaves
+WHERE status = 'APPROVED' AND user_id IS NOT NULL AND type IS NOT NULL
+GROUP BY user_id, CAST(EXTRACT(YEAR FROM start_date) AS integer), type
+ON CONFLICT (user_id, leave_year, type) DO NOTHING;
@@ -0,0 +1,17 @@
+-- Year-end carryover progress. A run row exists from the moment a run starts; finished_at stays NULL
+-- until every user is done, so an interrupted run is picked up again on the next start.
+CREATE TABLE IF NOT EXISTS carryover_run (
+    year        integer      NOT NULL PRIMARY KEY,
+    started_at  timestamptz  NOT NULL,
+    finished_at timestamptz,
+    users       bigint       NOT NULL DEFAULT 0
+);
+
+-- One row per user carried over, written in the same transaction as the balance change,
+-- so a resumed run (or a second node) skips users that are already done
+CREATE TABLE IF NOT EXISTS carryover_applied (
+    year       integer      NOT NULL,
+    user_id    uuid         NOT NULL,
+    applied_at timestamptz  NOT NULL,
+    PRIMARY KEY (year, user_id)
+);
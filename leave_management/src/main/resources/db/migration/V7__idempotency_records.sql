@@ -0,0 +1,11 @@
+-- Idempotency-Key records for POST /api/leaves/apply when idempotency.persistent=true.
+-- The row is inserted in the same transaction as the leave, so a retry on another instance
+-- blocks on it until the first request commits and then replays that leave.
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    scoped_key   varchar(300) NOT NULL PRIMARY KEY, -- "<userId>:<Idempotency-Key>"
+    request_hash varchar(64)  NOT NULL,
+    leave_id     uuid,
+    created_at   timestamptz  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_created ON idempotency_record (created_at);
@@ -0,0 +1,13 @@
+-- A user's PENDING and APPROVED leaves may not overlap. This is the source of truth behind the
+-- in-memory LeaveConflictIndex: an insert racing another one on a different instance waits for
+-- it and then fails here. Existing overlaps must be resolved before this migration can run.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE leaves
+    ADD CONSTRAINT ex_leaves_user_no_overlap
+    EXCLUDE USING gist (user_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED'));
+
+-- Enforced for new and updated rows; rows already stored are not re-checked
+ALTER TABLE leaves
+    ADD CONSTRAINT ck_leaves_end_after_start CHECK (end_date >= start_date) NOT VALID;
@@ -0,0 +1,47 @@
+-- Append-only log of leave and balance changes, written in the same transaction as the change.
+-- Replaying it from the start (or from a snapshot) gives every balance and leave status.
+-- Allocated in blocks of 50 so Hibernate can batch event inserts.
+CREATE SEQUENCE IF NOT EXISTS leave_event_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS leave_event (
+    seq             bigint           NOT NULL PRIMARY KEY,
+    tx_id           bigint           NOT NULL DEFAULT (pg_current_xact_id()::text::bigint),
+    occurred_at     timestamptz      NOT NULL,
+    event_type      varchar(20)      NOT NULL, -- LeaveEventType
+    user_id         uuid             NOT NULL,
+    leave_id        uuid,                      -- null for balance-only events
+    leave_type      varchar(30),
+    balance_delta   double precision NOT NULL DEFAULT 0,
+    carryover_delta double precision NOT NULL DEFAULT 0
+);
+
+-- Replay order. Transaction ids are assigned at a transaction's first write, so a change made after
+-- another one committed always sorts after it; seq orders events within a transaction. Replay after
+-- a snapshot reads only the transactions the snapshot did not include.
+CREATE INDEX IF NOT EXISTS idx_leave_event_tx ON leave_event (tx_id, seq);
+-- History of one leave
+CREATE INDEX IF NOT EXISTS idx_leave_event_leave ON leave_event (leave_id, seq) WHERE leave_id IS NOT NULL;
+
+-- Replayed state as of tx_horizon: holds the events of every transaction with a lower id, and of
+-- no other. Sequence numbers are handed out before commit, so they cannot mark that boundary.
+CREATE TABLE IF NOT EXISTS leave_event_snapshot (
+    tx_horizon bigint      NOT NULL PRIMARY KEY,
+    taken_at   timestamptz NOT NULL,
+    events     bigint      NOT NULL, -- events folded into the state
+    state      bytea       NOT NULL  -- LeaveState, gzipped
+);
+
+-- Genesis: the state as of this migration, so replay matches the tables from the first day
+INSERT INTO leave_event (seq, occurred_at, event_type, user_id, leave_type, balance_delta, carryover_delta)
+SELECT nextval('leave_event_seq'), now(), 'BALANCE_ADJUSTED', user_id, type, balance, carryover
+FROM leave_balance;
+
+INSERT INTO leave_event (seq, occurred_at, event_type, user_id, leave_id, leave_type)
+SELECT nextval('leave_event_seq'), now(), 'APPLIED', user_id, id, type
+FROM leaves
+WHERE user_id IS NOT NULL;
+
+INSERT INTO leave_event (seq, occurred_at, event_type, user_id, leave_id, leave_type)
+SELECT nextval('leave_event_seq'), now(), status, user_id, id, type
+FROM leaves
+WHERE user_id IS NOT NULL AND status IN ('APPROVED', 'REJECTED');
@@ -0,0 +1,17 @@
+package leave_management_project.leave_management;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that need a real Postgres. Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+}
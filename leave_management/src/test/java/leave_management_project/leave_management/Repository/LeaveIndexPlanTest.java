@@ -0,0 +1,62 @@
+package leave_management_project.leave_management.Repository;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Fails if one of the leave lookups falls back to a sequential scan of {@code leaves}
+ * on a table large enough for the planner to care.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeaveIndexPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("DELETE FROM leaves");
+        // 200k leaves for 20k users spread over ten years
+        jdbcTemplate.update("""
+                INSERT INTO leaves (id, user_id, type, status, start_date, end_date, reason)
+                SELECT gen_random_uuid(),
+                       ('00000000-0000-0000-0000-' || lpad((i % 20000)::text, 12, '0'))::uuid,
+                       (ARRAY['ANNUAL','SICK','PTO','OTHER'])[1 + i % 4],
+                       (ARRAY['PENDING','APPROVED','REJECTED'])[1 + i % 3],
+                       DATE '2020-01-01' + (i % 3650),
+                       DATE '2020-01-01' + (i % 3650) + (i % 10),
+                       'seed'
+                FROM generate_series(1, 200000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE leaves");
+    }
+
+    @Test
+    void findByUserIdUsesIndex() {
+        assertNoSeqScan("SELECT * FROM leaves WHERE user_id = '00000000-0000-0000-0000-000000000042'");
+    }
+
+    @Test
+    void findByStartDateBetweenUsesIndex() {
+        assertNoSeqScan("SELECT * FROM leaves WHERE start_date BETWEEN DATE '2024-03-01' AND DATE '2024-03-07'");
+    }
+
+    @Test
+    void statusOverlapQueryUsesIndex() {
+        assertNoSeqScan("SELECT * FROM leaves WHERE status = 'APPROVED' AND " +
+                "daterange(start_date, end_date, '[]') && daterange(DATE '2024-03-01', DATE '2024-03-07', '[]')");
+    }
+
+    private void assertNoSeqScan(String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertFalse(plan.contains("Seq Scan on leaves"), "Sequential scan in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,95 @@
+package leave_management_project.leave_management.benchmark;
+
+import leave_management_project.leave_management.Repository.LeaveBalanceRepository;
+import leave_management_project.leave_management.config.ClusterProperties;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveBalance;
+import leave_management_project.leave_management.service.ClusterNotifier;
+import leave_management_project.leave_management.service.LeaveBalanceLedger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Deduct + refund round trips on the in-memory ledger; the repository is a no-op so only the CAS path is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BalanceLedgerBenchmark {
+
+    private static final int USERS = 1024;
+
+    private LeaveBalanceLedger ledger;
+    private UUID[] users;
+
+    @Setup
+    public void setUp() {
+        ledger = new LeaveBalanceLedger(noOpRepository(), null, new ClusterNotifier(null, new ClusterProperties()));
+        users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+            ledger.getBalance(users[i], LeaveType.ANNUAL); // load into the cache
+        }
+    }
+
+    // Every thread hits the same user and type: worst-case CAS contention
+    @Benchmark
+    public void sameUser() {
+        ledger.deduct(users[0], LeaveType.ANNUAL, 1);
+        ledger.refund(users[0], LeaveType.ANNUAL, 1);
+    }
+
+    // Threads spread over many users, as in normal traffic
+    @Benchmark
+    public void spreadUsers() {
+        UUID user = users[ThreadLocalRandom.current().nextInt(USERS)];
+        ledger.deduct(user, LeaveType.ANNUAL, 1);
+        ledger.refund(user, LeaveType.ANNUAL, 1);
+    }
+
+    private static LeaveBalanceRepository noOpRepository() {
+        return (LeaveBalanceRepository) Proxy.newProxyInstance(
+                LeaveBalanceRepository.class.getClassLoader(),
+                new Class<?>[]{LeaveBalanceRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserId" -> fullRows((UUID) args[0]);
+                    case "addToBalance", "deductFromBalance" -> 1;
+                    case "replaceBalance" -> Optional.of(0.0);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "NoOpLeaveBalanceRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<LeaveBalance> fullRows(UUID userId) {
+        List<LeaveBalance> rows = new ArrayList<>();
+        for (LeaveType type : LeaveType.values()) {
+            rows.add(LeaveBalance.builder()
+                    .userId(userId)
+                    .type(type)
+                    .balance(1_000_000.0)
+                    .carryover(0.0)
+                    .build());
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BalanceLedgerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package leave_management_project.leave_management.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import leave_management_project.leave_management.config.JwtFilter;
+import leave_management_project.leave_management.config.JwtTokenVerifier;
+import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one pass through {@link JwtFilter} for a token the application has already seen,
+ * with the verified-token cache enabled and disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtFilter cachedFilter;
+    private JwtFilter uncachedFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        cachedFilter = new JwtFilter(new JwtTokenVerifier(10_000), new SimpleMeterRegistry());
+        uncachedFilter = new JwtFilter(new JwtTokenVerifier(0), new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole("STAFF");
+        authorization = "Bearer " + new JwtUtils().generateToken(user);
+    }
+
+    @Benchmark
+    public int withCache() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    @Benchmark
+    public int withoutCache() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    private int runFilter(JwtFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/leaves/balances");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package leave_management_project.leave_management.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Cost of rendering large List<Leave> responses, as /all does, against the per-row NDJSON writer
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private ObjectWriter leaveWriter;
+    private List<Leave> leaves;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // same defaults as the application
+        listWriter = objectMapper.writerFor(new TypeReference<List<Leave>>() { });
+        leaveWriter = objectMapper.writerFor(Leave.class);
+
+        leaves = new ArrayList<>(size);
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < size; i++) {
+            leaves.add(Leave.builder()
+                    .id(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .type(LeaveType.values()[i % LeaveType.values().length])
+                    .status(LeaveStatus.values()[i % LeaveStatus.values().length])
+                    .startDate(base.plusDays(i % 365))
+                    .endDate(base.plusDays(i % 365 + 3))
+                    .workingDays(4.0)
+                    .reason("Family event number " + i)
+                    .managerComment(i % 2 == 0 ? "Approved, enjoy" : null)
+                    .build());
+        }
+    }
+
+    // What Spring MVC does for ResponseEntity<List<Leave>>: one untyped writeValue
+    @Benchmark
+    public long untypedList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, leaves);
+        return out.count;
+    }
+
+    @Benchmark
+    public long typedList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        listWriter.writeValue(out, leaves);
+        return out.count;
+    }
+
+    // The /stream endpoints: one document per line
+    @Benchmark
+    public long ndjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        for (Leave leave : leaves) {
+            out.write(leaveWriter.writeValueAsBytes(leave));
+            out.write('\n');
+        }
+        return out.count;
+    }
+
+    // Discards output so only serialization is measured
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LeaveSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package leave_management_project.leave_management.benchmark;
+
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.service.ApprovedLeaveIndex;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Who is off between X and Y" over 1M leaves: the daterange query behind
+ * findByStatusAndDateRange against the in-memory ApprovedLeaveIndex. Needs Docker for Postgres;
+ * H2 has no daterange type, so it could not exercise the GiST index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapQueryBenchmark {
+
+    private static final int LEAVES = 1_000_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 5 * 365;
+
+    // Same SQL as LeaveRepository.findByStatusAndDateRange
+    private static final String OVERLAP_SQL = "SELECT id, user_id, start_date, end_date FROM leaves " +
+            "WHERE status = 'APPROVED' AND daterange(start_date, end_date, '[]') && daterange(?, ?, '[]')";
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement overlap;
+    private ApprovedLeaveIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            // Mostly short leaves, a few long ones; roughly a third approved
+            statement.execute("INSERT INTO leaves (id, user_id, type, status, start_date, end_date, reason) " +
+                    "SELECT gen_random_uuid(), gen_random_uuid(), 'ANNUAL', " +
+                    "(ARRAY['APPROVED','PENDING','REJECTED'])[1 + g % 3], " +
+                    "DATE '" + FIRST_DAY + "' + (g % " + DAYS + "), " +
+                    "DATE '" + FIRST_DAY + "' + (g % " + DAYS + ") + CASE WHEN g % 97 = 0 THEN 60 ELSE g % 7 END, " +
+                    "'benchmark' FROM generate_series(1, " + LEAVES + ") AS g");
+            statement.execute("ANALYZE leaves");
+        }
+        overlap = connection.prepareStatement(OVERLAP_SQL);
+
+        index = new ApprovedLeaveIndex(null, null);
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, user_id, start_date, end_date FROM leaves WHERE status = 'APPROVED'")) {
+            while (rows.next()) {
+                index.add(new LeaveIntervalDto(rows.getObject(1, UUID.class), rows.getObject(2, UUID.class),
+                        LeaveType.ANNUAL, rows.getObject(3, LocalDate.class), rows.getObject(4, LocalDate.class)));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    // A random one-week window, as the colleagues-on-leave screen asks for
+    @Benchmark
+    public int postgresDaterange() throws SQLException {
+        LocalDate start = randomStart();
+        overlap.setObject(1, start);
+        overlap.setObject(2, start.plusDays(6));
+        int count = 0;
+        try (ResultSet rows = overlap.executeQuery()) {
+            while (rows.next()) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int inMemoryIndex() {
+        LocalDate start = randomStart();
+        return index.findOverlapping(start, start.plusDays(6)).size();
+    }
+
+    private static LocalDate randomStart() {
+        return FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS - 7));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OverlapQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
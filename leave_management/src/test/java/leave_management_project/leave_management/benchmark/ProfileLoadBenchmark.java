@@ -0,0 +1,101 @@
+package leave_management_project.leave_management.benchmark;
+
+import leave_management_project.leave_management.LeaveManagementApplication;
+import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A new user applies for leave (seeding their balances) and then lists their leaves, under the
+ * diagnostics and the perf profile, with 100 clients. Needs Docker for Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(100)
+@Fork(1)
+public class ProfileLoadBenchmark {
+
+    @Param({"diagnostics", "perf"})
+    public String profile;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(LeaveManagementApplication.class)
+                .profiles(profile)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "notification.enabled=false",
+                        "rate-limit.enabled=false",
+                        "eureka.client.enabled=false")
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        http = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int applyAndList() throws IOException, InterruptedException {
+        String token = "Bearer " + staffToken();
+        HttpRequest apply = HttpRequest.newBuilder(URI.create(baseUrl +
+                        "/api/leaves/apply?type=PTO&startDate=2030-03-04&endDate=2030-03-05&reason=load"))
+                .header("Authorization", token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpRequest list = HttpRequest.newBuilder(URI.create(baseUrl + "/api/leaves/my"))
+                .header("Authorization", token)
+                .build();
+        return send(apply) + send(list);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) throw new IllegalStateException(request.uri().getPath() + " returned " + status);
+        return status;
+    }
+
+    private static String staffToken() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole("STAFF");
+        return new JwtUtils().generateToken(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProfileLoadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
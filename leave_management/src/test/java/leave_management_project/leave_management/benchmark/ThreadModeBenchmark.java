@@ -0,0 +1,90 @@
+package leave_management_project.leave_management.benchmark;
+
+import leave_management_project.leave_management.LeaveManagementApplication;
+import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/leaves/my, a JDBC-bound endpoint, served with platform threads and with virtual threads.
+ * 200 client threads against a Tomcat pool capped at 50; read throughput and the p0.99 line of
+ * each run. Needs Docker for Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(200)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(LeaveManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=50", // the platform pool saturates at peak load
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "notification.enabled=false",
+                        "rate-limit.enabled=false", // one token drives the whole load
+                        "eureka.client.enabled=false")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        User staff = new User();
+        staff.setId(UUID.randomUUID());
+        staff.setRole("STAFF");
+        http = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/leaves/my"))
+                .header("Authorization", "Bearer " + new JwtUtils().generateToken(staff))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int listMyLeaves() throws IOException, InterruptedException {
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) throw new IllegalStateException("GET /api/leaves/my returned " + status);
+        return status;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ThreadModeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
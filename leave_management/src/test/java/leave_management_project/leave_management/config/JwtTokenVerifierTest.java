@@ -0,0 +1,106 @@
+package leave_management_project.leave_management.config;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenVerifierTest {
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(100);
+        String subject = UUID.randomUUID().toString();
+        String token = token(subject, 60_000);
+
+        JwtTokenVerifier.VerifiedToken first = verifier.verify(token);
+        JwtTokenVerifier.VerifiedToken second = verifier.verify(token);
+
+        assertSame(first, second);
+        assertEquals(subject, first.authentication().getPrincipal());
+        assertEquals("ROLE_STAFF", first.authentication().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void everyRequestGetsItsOwnAuthentication() {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(100);
+        String token = token(UUID.randomUUID().toString(), 60_000);
+
+        UsernamePasswordAuthenticationToken first = verifier.verify(token).authentication();
+        first.setDetails("request one");
+        first.eraseCredentials();
+        UsernamePasswordAuthenticationToken second = verifier.verify(token).authentication();
+
+        assertNotSame(first, second);
+        assertNull(second.getDetails());
+        assertTrue(second.isAuthenticated());
+    }
+
+    @Test
+    void fullCacheKeepsTheTokensInUse() {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(50);
+        String hot = token(UUID.randomUUID().toString(), 60_000);
+        JwtTokenVerifier.VerifiedToken verified = verifier.verify(hot);
+
+        for (int i = 0; i < 500; i++) {
+            verifier.verify(hot);
+            verifier.verify(token(UUID.randomUUID().toString(), 60_000));
+        }
+        verifier.size(); // runs pending evictions
+
+        assertSame(verified, verifier.verify(hot));
+    }
+
+    @Test
+    void expiredTokenIsNotServedFromCache() throws InterruptedException {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(100);
+        String token = token(UUID.randomUUID().toString(), 1_500);
+
+        verifier.verify(token);
+        Thread.sleep(1_600);
+
+        assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(100);
+        String forged = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("role", "ADMIN")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("some-other-secret-key-of-sufficient-length".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> verifier.verify(forged));
+    }
+
+    @Test
+    void cacheStaysWithinBound() {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(50);
+
+        for (int i = 0; i < 500; i++) {
+            verifier.verify(token(UUID.randomUUID().toString(), 60_000));
+        }
+
+        assertTrue(verifier.size() <= 50);
+    }
+
+    static String token(String subject, long ttlMillis) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("role", "STAFF")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(JwtUtils.getKey())
+                .compact();
+    }
+}
@@ -0,0 +1,115 @@
+package leave_management_project.leave_management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        RateLimitProperties.Group login = new RateLimitProperties.Group();
+        login.setCapacity(5);
+        login.setPeriod(Duration.ofMinutes(1));
+        properties.getGroups().put("login", login);
+        limiter = new RateLimiter(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    void burstUpToCapacityThenThrottledUntilATokenRefills() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("login", "a@example.com");
+        }
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("login", "a@example.com"));
+        assertEquals(12, e.getRetryAfterSeconds()); // one token per 60s / 5
+
+        // Other keys have their own bucket
+        limiter.acquire("login", "b@example.com");
+
+        now.addAndGet(Duration.ofSeconds(12).toNanos());
+        limiter.acquire("login", "a@example.com");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("login", "a@example.com"));
+
+        assertEquals(2, meterRegistry.get("rate.limit.throttled").tag("limit", "login").counter().count());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        AtomicInteger allowed = new AtomicInteger();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                pool.submit(() -> {
+                    try {
+                        limiter.acquire("login", "c@example.com");
+                        allowed.incrementAndGet();
+                    } catch (TooManyRequestsException expected) {
+                        // over the limit
+                    }
+                });
+            }
+        }
+        assertEquals(5, allowed.get());
+    }
+
+    @Test
+    void unknownGroupsAndDisabledLimitsLetEverythingThrough() {
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("none", "a@example.com");
+        }
+        properties.setEnabled(false);
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("login", "a@example.com");
+        }
+    }
+
+    @Test
+    void bcryptBulkheadShedsWhenEverySlotIsBusy() throws Exception {
+        RateLimitProperties.Bcrypt limits = new RateLimitProperties.Bcrypt();
+        limits.setMaxConcurrent(1);
+        limits.setMaxWait(Duration.ofMillis(50));
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches(any(), any())).thenAnswer(inv -> {
+            hashing.countDown();
+            finish.await();
+            return true;
+        });
+        AtomicInteger rejected = new AtomicInteger();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, limits, rejected::incrementAndGet);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> first = pool.submit(() -> encoder.matches("secret", "hash"));
+            hashing.await();
+            TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                    () -> encoder.matches("secret", "hash"));
+            assertEquals(1, e.getRetryAfterSeconds());
+            finish.countDown();
+            assertTrue(first.get());
+        }
+        assertEquals(1, rejected.get());
+        // The slot is free again
+        assertTrue(encoder.matches("secret", "hash"));
+    }
+}
@@ -0,0 +1,51 @@
+package leave_management_project.leave_management.controller;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The per-address auth bucket (30 per minute) must see login attempts that carry no token
+@SpringBootTest(properties = "notification.enabled=false")
+@AutoConfigureMockMvc
+class AuthRateLimitTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void thirtyFirstTokenlessLoginFromOneAddressIsThrottled() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            assertNotEquals(429, statusOf(login("10.0.0.7")), "throttled at attempt " + (i + 1));
+        }
+
+        mockMvc.perform(login("10.0.0.7"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        // Another address has its own bucket
+        assertNotEquals(429, statusOf(login("10.0.0.8")));
+    }
+
+    private int statusOf(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+
+    private static MockHttpServletRequestBuilder login(String address) {
+        return post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"wrong\"}")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package leave_management_project.leave_management.controller;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.config.NotificationProperties;
+import leave_management_project.leave_management.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+@AutoConfigureMockMvc
+class LeaveApplyLatencyTest extends PostgresIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private NotificationProperties notificationProperties;
+
+    @Test
+    void queueingMailDoesNotAddSmtpTimeToApply() throws Exception {
+        notificationProperties.setEnabled(false);
+        applyMany(50); // warm-up
+        long disabledP99 = p99(applyMany(300));
+
+        notificationProperties.setEnabled(true);
+        long enabledP99 = p99(applyMany(300));
+
+        log.info("POST /api/leaves/apply p99: mail disabled {} µs, mail enabled {} µs",
+                disabledP99 / 1_000, enabledP99 / 1_000);
+
+        assertTrue(greenMail.waitForIncomingEmail(30_000, 300), "queued mail was not delivered");
+        // Enabling mail may only add the outbox insert, never an SMTP round-trip
+        assertTrue(enabledP99 < disabledP99 + 50_000_000L,
+                "mail-enabled p99 " + enabledP99 + "ns vs disabled " + disabledP99 + "ns");
+    }
+
+    private long[] applyMany(int requests) throws Exception {
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            String token = staffToken();
+            long start = System.nanoTime();
+            mockMvc.perform(post("/api/leaves/apply")
+                            .header("Authorization", "Bearer " + token)
+                            .param("type", "PTO")
+                            .param("startDate", "2030-03-04")
+                            .param("endDate", "2030-03-05")
+                            .param("reason", "Latency test"))
+                    .andExpect(status().isOk());
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private String staffToken() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole("STAFF");
+        return jwtUtils.generateToken(user);
+    }
+
+    private static long p99(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
@@ -0,0 +1,69 @@
+package leave_management_project.leave_management.controller;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.config.JwtUtils;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import leave_management_project.leave_management.model.User;
+import leave_management_project.leave_management.service.LeaveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Open-in-view on: the controller loads the leave before deciding it, in the same persistence context
+@SpringBootTest(properties = {"notification.enabled=false", "spring.jpa.open-in-view=true"})
+@AutoConfigureMockMvc
+class LeaveDecisionControllerTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.of(2031, 3, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Test
+    void approveReturnsTheDecidedLeave() throws Exception {
+        Leave leave = leaveService.applyLeave(UUID.randomUUID(), null, LeaveType.ANNUAL, START, START.plusDays(1), "trip", null);
+
+        mockMvc.perform(put("/api/leaves/approve/" + leave.getId())
+                        .header("Authorization", "Bearer " + token("MANAGER"))
+                        .param("comment", "enjoy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.managerComment").value("enjoy"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void rejectReturnsTheDecidedLeave() throws Exception {
+        Leave leave = leaveService.applyLeave(UUID.randomUUID(), null, LeaveType.ANNUAL, START, START.plusDays(1), "trip", null);
+
+        mockMvc.perform(put("/api/leaves/reject/" + leave.getId())
+                        .header("Authorization", "Bearer " + token("MANAGER"))
+                        .param("comment", "busy week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.managerComment").value("busy week"));
+    }
+
+    private String token(String role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        return jwtUtils.generateToken(user);
+    }
+}
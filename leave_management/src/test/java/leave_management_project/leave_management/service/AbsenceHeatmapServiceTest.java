@@ -0,0 +1,116 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.UserRepository;
+import leave_management_project.leave_management.dto.AbsenceHeatmapDto;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.dto.UserRoleView;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+class AbsenceHeatmapServiceTest {
+
+    private static final LocalDate BASE = LocalDate.of(2026, 3, 2);
+
+    private ApprovedLeaveIndex index;
+    private AbsenceHeatmapService service;
+    private final Map<UUID, String> roles = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new ApprovedLeaveIndex(null, mock(PlatformTransactionManager.class));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<UUID> ids = inv.getArgument(0);
+            return ids.stream().filter(roles::containsKey).map(id -> role(id, roles.get(id))).toList();
+        });
+        service = new AbsenceHeatmapService(index, userRepository);
+    }
+
+    @Test
+    void countsPeopleOffPerDayAndRole() {
+        UUID staff = user("STAFF");
+        UUID manager = user("MANAGER");
+        add(staff, 0, 2);
+        add(staff, 2, 4);   // overlaps the first: still one person
+        add(manager, 1, 1);
+        add(UUID.randomUUID(), 3, 20); // no user row, runs past the range
+
+        AbsenceHeatmapDto heatmap = service.heatmap(BASE, BASE.plusDays(5), true, false, false);
+
+        assertArrayEquals(new int[]{1, 2, 1, 2, 2, 1}, heatmap.getGroups().get(AbsenceHeatmapService.ALL));
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 0}, heatmap.getGroups().get("STAFF"));
+        assertArrayEquals(new int[]{0, 1, 0, 0, 0, 0}, heatmap.getGroups().get("MANAGER"));
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 1}, heatmap.getGroups().get("UNKNOWN"));
+    }
+
+    @Test
+    void runLengthEncodingExpandsToTheDailyCounts() {
+        add(user("STAFF"), 10, 12);
+        add(user("STAFF"), 11, 40);
+
+        int[] rle = service.heatmap(BASE, BASE.plusDays(59), false, true, false)
+                .getGroups().get(AbsenceHeatmapService.ALL);
+
+        assertArrayEquals(new int[]{0, 10, 1, 1, 2, 2, 1, 28, 0, 19}, rle);
+    }
+
+    @Test
+    void parallelModeMatchesSequentialOverSeveralYears() {
+        Random random = new Random(42);
+        List<String> roleNames = List.of("STAFF", "MANAGER", "ADMIN");
+        for (int i = 0; i < 20_000; i++) {
+            UUID userId = user(roleNames.get(random.nextInt(roleNames.size())));
+            int start = random.nextInt(3 * 365);
+            add(userId, start, start + random.nextInt(15));
+        }
+        LocalDate to = BASE.plusYears(3);
+
+        long started = System.nanoTime();
+        AbsenceHeatmapDto sequential = service.heatmap(BASE, to, true, false, false);
+        long sequentialNanos = System.nanoTime() - started;
+        started = System.nanoTime();
+        AbsenceHeatmapDto parallel = service.heatmap(BASE, to, true, false, true);
+        long parallelNanos = System.nanoTime() - started;
+
+        log.info("Heatmap over 3 years, 20k leaves: sequential {} µs, parallel {} µs",
+                sequentialNanos / 1_000, parallelNanos / 1_000);
+        assertEquals(sequential.getGroups().keySet(), parallel.getGroups().keySet());
+        sequential.getGroups().forEach((group, counts) -> assertArrayEquals(counts, parallel.getGroups().get(group)));
+    }
+
+    private UUID user(String role) {
+        UUID id = UUID.randomUUID();
+        roles.put(id, role);
+        return id;
+    }
+
+    private void add(UUID userId, int firstDay, int lastDay) {
+        index.add(new LeaveIntervalDto(UUID.randomUUID(), userId, LeaveType.ANNUAL,
+                BASE.plusDays(firstDay), BASE.plusDays(lastDay)));
+    }
+
+    private static UserRoleView role(UUID id, String role) {
+        return new UserRoleView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApprovedLeaveIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    private LeaveRepository repository;
+    private ApprovedLeaveIndex index;
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LeaveRepository.class);
+        index = new ApprovedLeaveIndex(repository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void overlapQueriesMatchBruteForce() {
+        List<LeaveIntervalDto> leaves = randomLeaves(5_000);
+        leaves.forEach(index::add);
+        // Drop a slice to exercise removal
+        List<LeaveIntervalDto> remaining = new ArrayList<>(leaves);
+        for (int i = 0; i < 500; i++) {
+            index.remove(remaining.remove(random.nextInt(remaining.size())).getId());
+        }
+
+        for (int q = 0; q < 500; q++) {
+            LocalDate start = BASE.plusDays(random.nextInt(800));
+            LocalDate end = start.plusDays(random.nextInt(30));
+
+            Set<UUID> expected = remaining.stream()
+                    .filter(l -> !l.getStartDate().isAfter(end) && !l.getEndDate().isBefore(start))
+                    .map(LeaveIntervalDto::getId)
+                    .collect(Collectors.toSet());
+            Set<UUID> actual = index.findOverlapping(start, end).stream()
+                    .map(LeaveIntervalDto::getId)
+                    .collect(Collectors.toSet());
+
+            assertEquals(expected, actual, "range " + start + ".." + end);
+        }
+    }
+
+    @Test
+    void rebuildReplacesContentsFromRepository() {
+        index.add(leave(BASE, BASE.plusDays(1)));
+        LeaveIntervalDto persisted = leave(BASE.plusDays(10), BASE.plusDays(12));
+        when(repository.streamIntervalsByStatus(LeaveStatus.APPROVED)).thenReturn(List.of(persisted).stream());
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertEquals(persisted.getId(), index.findOverlapping(BASE.plusDays(11), BASE.plusDays(11)).get(0).getId());
+    }
+
+    @Test
+    void lookupsStaySubMillisecond() {
+        // About five years of approvals for a 10k-person organisation
+        randomLeaves(100_000, 1_825).forEach(index::add);
+        for (int q = 0; q < 2_000; q++) {
+            index.findOverlapping(BASE.plusDays(q % 1_800), BASE.plusDays(q % 1_800 + 7)); // warm-up
+        }
+
+        int queries = 2_000;
+        long started = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            LocalDate start = BASE.plusDays(random.nextInt(1_800));
+            index.findOverlapping(start, start.plusDays(7));
+        }
+        double averageMillis = (System.nanoTime() - started) / 1e6 / queries;
+
+        assertTrue(averageMillis < 1.0, "average lookup took " + averageMillis + " ms");
+    }
+
+    private List<LeaveIntervalDto> randomLeaves(int count) {
+        return randomLeaves(count, 730);
+    }
+
+    private List<LeaveIntervalDto> randomLeaves(int count, int days) {
+        List<LeaveIntervalDto> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDate start = BASE.plusDays(random.nextInt(days));
+            // Mostly short leaves with the occasional long one
+            int length = random.nextInt(100) == 0 ? 60 + random.nextInt(60) : random.nextInt(10);
+            leaves.add(leave(start, start.plusDays(length)));
+        }
+        return leaves;
+    }
+
+    private static LeaveIntervalDto leave(LocalDate start, LocalDate end) {
+        return new LeaveIntervalDto(UUID.randomUUID(), UUID.randomUUID(), LeaveType.ANNUAL, start, end);
+    }
+}
@@ -0,0 +1,107 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.LeaveManagementApplication;
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two application instances on one database, each with its own in-memory caches
+class ClusterCoherenceTest extends PostgresIntegrationTest {
+
+    private static final int APPLIES = 24; // ANNUAL starts at 10 days; every apply takes one working day
+
+    @Test
+    void concurrentAppliesOnTwoInstancesNeverOverdraw() throws Exception {
+        try (ConfigurableApplicationContext first = start(); ConfigurableApplicationContext second = start()) {
+            LeaveService[] nodes = {first.getBean(LeaveService.class), second.getBean(LeaveService.class)};
+            UUID userId = UUID.randomUUID();
+            // Both instances cache the user's balances before the race
+            assertEquals(10.0, nodes[0].viewAllBalances(userId).get(LeaveType.ANNUAL));
+            assertEquals(10.0, nodes[1].viewAllBalances(userId).get(LeaveType.ANNUAL));
+
+            List<LocalDate> days = workingDays(first.getBean(HolidayCalendar.class));
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger refused = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            ExecutorService clients = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < APPLIES; i++) {
+                    LeaveService node = nodes[i % 2];
+                    LocalDate day = days.get(i);
+                    results.add(clients.submit(() -> {
+                        go.await();
+                        try {
+                            node.applyLeave(userId, null, LeaveType.ANNUAL, day, day, "cluster test", null);
+                            accepted.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            assertTrue(e.getMessage().startsWith("Insufficient leave balance"), e.getMessage());
+                            refused.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> result : results) result.get(60, TimeUnit.SECONDS);
+            } finally {
+                clients.shutdownNow();
+            }
+
+            assertEquals(10, accepted.get());
+            assertEquals(APPLIES - 10, refused.get());
+            JdbcTemplate jdbc = first.getBean(JdbcTemplate.class);
+            assertEquals(0.0, jdbc.queryForObject("SELECT balance FROM leave_balance WHERE user_id = ? AND type = 'ANNUAL'",
+                    Double.class, userId));
+            assertEquals(10, jdbc.queryForObject("SELECT count(*) FROM leaves WHERE user_id = ?", Integer.class, userId));
+
+            // Both caches converge on the committed balance, and an adjustment on one reaches the other
+            awaitTrue(() -> nodes[0].viewAllBalances(userId).get(LeaveType.ANNUAL) == 0.0
+                    && nodes[1].viewAllBalances(userId).get(LeaveType.ANNUAL) == 0.0);
+            nodes[0].adjustBalance(userId, LeaveType.ANNUAL, 4.0, "ADMIN");
+            awaitTrue(() -> nodes[1].viewAllBalances(userId).get(LeaveType.ANNUAL) == 4.0);
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LeaveManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "spring.datasource.username=" + POSTGRES.getUsername(),
+                        "spring.datasource.password=" + POSTGRES.getPassword(),
+                        "cluster.enabled=true",
+                        "notification.enabled=false",
+                        "carryover.enabled=false",
+                        "eureka.client.enabled=false")
+                .run();
+    }
+
+    private static List<LocalDate> workingDays(HolidayCalendar calendar) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2031, 3, 3); days.size() < APPLIES; day = day.plusDays(1)) {
+            if (calendar.isWorkingDay(day)) days.add(day);
+        }
+        return days;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "instances did not converge");
+            Thread.sleep(50);
+        }
+    }
+}
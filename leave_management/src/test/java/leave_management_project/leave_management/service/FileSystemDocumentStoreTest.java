@@ -0,0 +1,112 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.StoredDocumentRepository;
+import leave_management_project.leave_management.model.StoredDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FileSystemDocumentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private StoredDocumentRepository repository;
+    private FileSystemDocumentStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = mock(StoredDocumentRepository.class);
+        when(repository.findById(anyString())).thenAnswer(invocation ->
+                Optional.of(new StoredDocument(invocation.getArgument(0), 0, null, Instant.now())));
+        store = new FileSystemDocumentStore(repository, root.toString(), Duration.ofHours(1));
+    }
+
+    @Test
+    void identicalUploadsAreStoredOnce() throws Exception {
+        byte[] pdf = randomBytes(300_000);
+
+        String first = store.store(new ByteArrayInputStream(pdf), "application/pdf").getHash();
+        String second = store.store(new ByteArrayInputStream(pdf), "application/pdf").getHash();
+
+        assertEquals(first, second);
+        assertEquals(1, storedFiles());
+        verify(repository, times(2)).register(eq(first), eq((long) pdf.length), eq("application/pdf"), any());
+        // Nothing is left behind in the staging directory
+        try (Stream<Path> staged = Files.list(root.resolve("incoming"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void largeUploadsAreStreamedToDisk() throws Exception {
+        long size = 64L * 1024 * 1024;
+        // Generates bytes on the fly, so the test itself never holds the upload either
+        InputStream endless = new InputStream() {
+            long remaining = size;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? (int) (remaining & 0x7f) : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (remaining <= 0) return -1;
+                int n = (int) Math.min(len, remaining);
+                for (int i = 0; i < n; i++) b[off + i] = (byte) ((remaining - i - 1) & 0x7f);
+                remaining -= n;
+                return n;
+            }
+        };
+
+        String hash = store.store(endless, "application/octet-stream").getHash();
+
+        verify(repository).register(eq(hash), eq(size), any(), any());
+        assertEquals(size, Files.size(root.resolve(hash.substring(0, 2)).resolve(hash)));
+    }
+
+    @Test
+    void rangedTransferReturnsExactlyTheRequestedBytes() throws Exception {
+        byte[] content = randomBytes(100_000);
+        String hash = store.store(new ByteArrayInputStream(content), null).getHash();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long sent = store.transferTo(hash, 1_000, 5_000, Channels.newChannel(out));
+
+        assertEquals(5_000, sent);
+        assertArrayEquals(Arrays.copyOfRange(content, 1_000, 6_000), out.toByteArray());
+
+        out.reset();
+        assertEquals(1_000, store.transferTo(hash, 99_000, 10_000, Channels.newChannel(out)));
+    }
+
+    private long storedFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).filter(p -> !p.startsWith(root.resolve("incoming"))).count();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,87 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.PublicHolidayRepository;
+import leave_management_project.leave_management.model.PublicHoliday;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HolidayCalendarTest {
+
+    private final List<PublicHoliday> holidays = new ArrayList<>();
+    private PublicHolidayRepository repository;
+    private HolidayCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        holidays.add(holiday(LocalDate.of(2025, 12, 25)));
+        holidays.add(holiday(LocalDate.of(2025, 12, 26)));
+        holidays.add(holiday(LocalDate.of(2026, 1, 1)));
+        repository = mock(PublicHolidayRepository.class);
+        when(repository.findByDateBetween(any(), any())).thenAnswer(inv -> {
+            LocalDate from = inv.getArgument(0);
+            LocalDate to = inv.getArgument(1);
+            return holidays.stream()
+                    .filter(h -> !h.getDate().isBefore(from) && !h.getDate().isAfter(to))
+                    .toList();
+        });
+        calendar = new HolidayCalendar(repository);
+    }
+
+    @Test
+    void weekendsAndHolidaysAreNotCounted() {
+        // Mon 22 Dec 2025 .. Fri 2 Jan 2026: 10 weekdays, 3 of them holidays
+        assertEquals(7, calendar.countWorkingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 2)));
+        // A weekend on its own
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 12, 27), LocalDate.of(2025, 12, 28)));
+    }
+
+    @Test
+    void matchesDayByDayCountAcrossYears() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(1_000));
+            LocalDate end = start.plusDays(random.nextInt(400));
+            assertEquals(bruteForce(start, end), calendar.countWorkingDays(start, end), start + ".." + end);
+        }
+    }
+
+    @Test
+    void eachYearIsLoadedOnceUntilInvalidated() {
+        LocalDate day = LocalDate.of(2025, 6, 2);
+        calendar.countWorkingDays(day, day.plusDays(30));
+        calendar.countWorkingDays(day, day.plusDays(60));
+        verify(repository, times(1)).findByDateBetween(any(), any());
+
+        holidays.add(holiday(LocalDate.of(2025, 6, 3)));
+        calendar.invalidate(2025);
+
+        assertEquals(4, calendar.countWorkingDays(day, day.plusDays(4)));
+        verify(repository, times(2)).findByDateBetween(any(), any());
+    }
+
+    private int bruteForce(LocalDate start, LocalDate end) {
+        int count = 0;
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            LocalDate date = d;
+            boolean weekend = d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean holiday = holidays.stream().anyMatch(h -> h.getDate().equals(date));
+            if (!weekend && !holiday) count++;
+        }
+        return count;
+    }
+
+    private static PublicHoliday holiday(LocalDate date) {
+        return new PublicHoliday(UUID.randomUUID(), "Holiday", date);
+    }
+}
@@ -0,0 +1,93 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.IdempotencyRecordRepository;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.config.IdempotencyProperties;
+import leave_management_project.leave_management.model.Leave;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger applied = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(mock(IdempotencyRecordRepository.class), mock(LeaveRepository.class),
+                new IdempotencyProperties(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void retryReplaysTheFirstLeave() throws Exception {
+        IdempotencyService.Result first = service.applyOnce(userId, "key-1", "hash", this::apply);
+        IdempotencyService.Result retry = service.applyOnce(userId, "key-1", "hash", this::apply);
+
+        assertEquals(1, applied.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(first.leave(), retry.leave());
+        // Keys are per user
+        assertFalse(service.applyOnce(UUID.randomUUID(), "key-1", "hash", this::apply).replayed());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirst() throws Exception {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(clients.submit(() -> service.applyOnce(userId, "key-2", "hash", () -> {
+                    release.join();
+                    return apply();
+                })));
+            }
+            Thread.sleep(100);
+            release.complete(null);
+        }
+
+        assertEquals(1, applied.get());
+        Leave leave = results.get(0).get().leave();
+        for (Future<IdempotencyService.Result> result : results) {
+            assertSame(leave, result.get().leave());
+        }
+        assertEquals(49, results.stream().filter(r -> r.resultNow().replayed()).count());
+    }
+
+    @Test
+    void failedRequestCanBeRetried() throws Exception {
+        assertThrows(RuntimeException.class, () -> service.applyOnce(userId, "key-3", "hash", () -> {
+            throw new RuntimeException("Insufficient leave balance for type: ANNUAL");
+        }));
+
+        assertFalse(service.applyOnce(userId, "key-3", "hash", this::apply).replayed());
+        assertEquals(1, applied.get());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRefused() throws Exception {
+        service.applyOnce(userId, "key-4", "hash", this::apply);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.applyOnce(userId, "key-4", "other", this::apply));
+        assertTrue(e.getMessage().contains("different request"));
+        assertEquals(1, applied.get());
+    }
+
+    private Leave apply() throws IOException {
+        applied.incrementAndGet();
+        return Leave.builder().id(UUID.randomUUID()).userId(userId).build();
+    }
+}
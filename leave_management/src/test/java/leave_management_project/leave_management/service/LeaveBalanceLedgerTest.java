@@ -0,0 +1,207 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveBalanceRepository;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeaveBalanceLedgerTest {
+
+    private LeaveBalanceRepository repository;
+    private LeaveEventLog eventLog;
+    private LeaveBalanceLedger ledger;
+
+    // Net of every update the ledger sent to the database, per type
+    private final Map<LeaveType, DoubleAdder> persistedDeltas = new ConcurrentHashMap<>();
+    // Stored balance per type, as the database would hold it; updates are applied one at a time like row locks
+    private final Map<LeaveType, Double> stored = new EnumMap<>(LeaveType.class);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LeaveBalanceRepository.class);
+        when(repository.findByUserId(any())).thenAnswer(inv -> {
+            synchronized (stored) {
+                List<LeaveBalance> rows = new ArrayList<>();
+                stored.forEach((type, balance) -> rows.add(LeaveBalance.builder()
+                        .userId(inv.getArgument(0)).type(type).balance(balance).carryover(0.0).build()));
+                return rows;
+            }
+        });
+        when(repository.seed(any(), any(), anyDouble())).thenAnswer(inv -> {
+            synchronized (stored) {
+                return stored.putIfAbsent(LeaveType.valueOf(inv.getArgument(1)), inv.getArgument(2)) == null ? 1 : 0;
+            }
+        });
+        when(repository.addToBalance(any(), any(), anyDouble())).thenAnswer(inv ->
+                persist(inv.getArgument(1), inv.<Double>getArgument(2)));
+        when(repository.deductFromBalance(any(), any(), anyDouble())).thenAnswer(inv ->
+                persist(inv.getArgument(1), -inv.<Double>getArgument(2)));
+        when(repository.replaceBalance(any(), any(), anyDouble())).thenAnswer(inv -> {
+            LeaveType type = LeaveType.valueOf(inv.getArgument(1));
+            synchronized (stored) {
+                double previous = stored.getOrDefault(type, 0.0);
+                persist(type, inv.<Double>getArgument(2) - previous);
+                return Optional.of(previous);
+            }
+        });
+        eventLog = mock(LeaveEventLog.class);
+        ledger = new LeaveBalanceLedger(repository, eventLog, mock(ClusterNotifier.class));
+    }
+
+    @Test
+    void newUserIsSeededWithDefaults() {
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(10.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+        assertEquals(90.0, ledger.getBalance(userId, LeaveType.MATERNITY));
+        verify(repository, times(LeaveType.values().length)).seed(eq(userId), any(), anyDouble());
+        // Seeding is logged, so replaying the event log starts from the same balances
+        verify(eventLog).balanceAdjusted(userId, LeaveType.ANNUAL, 10.0);
+    }
+
+    @Test
+    void rowsSeededConcurrentlyAreReadNotOverwritten() {
+        UUID userId = UUID.randomUUID();
+        // Another request seeded ANNUAL first and already spent from it
+        synchronized (stored) {
+            stored.put(LeaveType.ANNUAL, 6.0);
+        }
+
+        assertEquals(6.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+        assertEquals(20.0, ledger.getBalance(userId, LeaveType.PTO));
+        verify(eventLog, never()).balanceAdjusted(eq(userId), eq(LeaveType.ANNUAL), anyDouble());
+        verify(eventLog).balanceAdjusted(userId, LeaveType.PTO, 20.0);
+    }
+
+    @Test
+    void deductFailsWhenBalanceIsInsufficient() {
+        UUID userId = UUID.randomUUID();
+
+        assertThrows(RuntimeException.class, () -> ledger.deduct(userId, LeaveType.ANNUAL, 11));
+        assertEquals(10.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+    }
+
+    @Test
+    void deductRefusedByTheDatabaseDropsTheStaleCopy() {
+        UUID userId = UUID.randomUUID();
+        assertEquals(10.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+
+        // Another instance spent the days: the row no longer has them, the cached copy still does
+        synchronized (stored) {
+            stored.put(LeaveType.ANNUAL, 1.0);
+        }
+        doReturn(0).when(repository).deductFromBalance(any(), any(), anyDouble());
+
+        assertThrows(RuntimeException.class, () -> ledger.deduct(userId, LeaveType.ANNUAL, 4));
+        assertEquals(1.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+    }
+
+    @Test
+    void setWritesTheAbsoluteValueAndLogsTheStoredDelta() {
+        UUID userId = UUID.randomUUID();
+        assertEquals(10.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+        // Another instance refunded 3 days; this copy has not heard of it yet
+        synchronized (stored) {
+            stored.put(LeaveType.ANNUAL, 13.0);
+        }
+
+        ledger.set(userId, LeaveType.ANNUAL, 20.0);
+
+        assertEquals(20.0, stored.get(LeaveType.ANNUAL));
+        verify(eventLog).balanceAdjusted(userId, LeaveType.ANNUAL, 7.0);
+    }
+
+    @Test
+    void concurrentAppliesNeverOverdraw() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ledger.set(userId, LeaveType.PTO, 2_000);
+        persistedDeltas.clear();
+
+        int applies = 5_000;
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(applies, i -> {
+            try {
+                ledger.deduct(userId, LeaveType.PTO, 1);
+                accepted.incrementAndGet();
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(2_000, accepted.get());
+        assertEquals(3_000, rejected.get());
+        assertEquals(0.0, ledger.getBalance(userId, LeaveType.PTO));
+        assertEquals(-2_000.0, persistedDeltas.get(LeaveType.PTO).sum());
+    }
+
+    @Test
+    void concurrentDeductRefundAndAdjustStayConsistent() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ledger.set(userId, LeaveType.ANNUAL, 4_000);
+        persistedDeltas.clear();
+
+        // Every deduct is paired with a refund, and adjusts target a different type
+        runConcurrently(8_000, i -> {
+            switch (i % 4) {
+                case 0, 1 -> ledger.deduct(userId, LeaveType.ANNUAL, 1);
+                case 2 -> ledger.refund(userId, LeaveType.ANNUAL, 1);
+                default -> ledger.set(userId, LeaveType.SICK, i % 7);
+            }
+        });
+        runConcurrently(2_000, i -> ledger.refund(userId, LeaveType.ANNUAL, 1));
+
+        assertEquals(4_000.0, ledger.getBalance(userId, LeaveType.ANNUAL));
+        assertEquals(0.0, persistedDeltas.get(LeaveType.ANNUAL).sum());
+        assertEquals(ledger.getBalance(userId, LeaveType.SICK) - 10.0,
+                persistedDeltas.get(LeaveType.SICK).sum(), 1e-9);
+    }
+
+    private void runConcurrently(int tasks, IntTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run(n);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private int persist(LeaveType type, double delta) {
+        synchronized (stored) {
+            stored.merge(type, delta, Double::sum);
+            persistedDeltas.computeIfAbsent(type, t -> new DoubleAdder()).add(delta);
+        }
+        return 1;
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int i);
+    }
+}
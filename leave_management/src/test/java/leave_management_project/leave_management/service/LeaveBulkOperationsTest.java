@@ -0,0 +1,221 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.BulkDecisionDto;
+import leave_management_project.leave_management.dto.LeaveChangeDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares the bulk paths with their per-item equivalents; timings are logged, not asserted
+@Slf4j
+@SpringBootTest(properties = "notification.enabled=false")
+class LeaveBulkOperationsTest extends PostgresIntegrationTest {
+
+    private static final int LEAVES = 500;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveImportService leaveImportService;
+
+    @Autowired
+    private LeaveBalanceLedger leaveBalanceLedger;
+
+    @Autowired
+    private LeaveChangeBus leaveChangeBus;
+
+    @BeforeEach
+    void clean() {
+        leaveRepository.deleteAll();
+    }
+
+    @Test
+    void bulkApproveMatchesPerItemApproval() {
+        List<UUID> perItem = seedPending(LEAVES);
+        long start = System.nanoTime();
+        for (UUID id : perItem) {
+            leaveService.approveLeave(id, "ok", "MANAGER", "manager@example.com", "user@example.com");
+        }
+        long perItemNanos = System.nanoTime() - start;
+
+        List<UUID> bulk = seedPending(LEAVES);
+        start = System.nanoTime();
+        BulkDecisionDto result = leaveService.bulkApprove(bulk, "ok", "MANAGER", UUID.randomUUID(), "manager@example.com");
+        long bulkNanos = System.nanoTime() - start;
+
+        log.info("Approve {} leaves: per item {} ms, bulk {} ms", LEAVES, perItemNanos / 1_000_000, bulkNanos / 1_000_000);
+        assertTrue(leaveRepository.findAllById(perItem).stream().allMatch(l -> l.getStatus() == LeaveStatus.APPROVED));
+        assertEquals(LEAVES, result.getUpdated().size());
+        assertTrue(result.getSkipped().isEmpty());
+        assertTrue(leaveRepository.findAllById(bulk).stream().allMatch(l -> l.getStatus() == LeaveStatus.APPROVED));
+    }
+
+    @Test
+    void bulkRejectSkipsDecidedAndOwnLeavesAndRefundsOnce() {
+        UUID staff = UUID.randomUUID();
+        UUID manager = UUID.randomUUID();
+        double before = leaveBalanceLedger.getBalance(staff, LeaveType.ANNUAL);
+
+        // The staff member's leaves may not overlap, so each starts a week after the previous one
+        Leave first = leaveRepository.save(pending(staff, 2.0, 0));
+        Leave second = leaveRepository.save(pending(staff, 3.0, 7));
+        Leave own = leaveRepository.save(pending(manager, 1.0));
+        Leave decided = pending(staff, 1.0, 14);
+        decided.setStatus(LeaveStatus.APPROVED);
+        decided = leaveRepository.save(decided);
+
+        BulkDecisionDto result = leaveService.bulkReject(
+                List.of(first.getId(), second.getId(), own.getId(), decided.getId()),
+                "no", "MANAGER", manager, "manager@example.com");
+
+        assertEquals(2, result.getUpdated().size());
+        assertEquals(List.of(own.getId(), decided.getId()), result.getSkipped());
+        assertEquals(before + 5.0, leaveBalanceLedger.getBalance(staff, LeaveType.ANNUAL), 1e-9);
+        assertEquals(LeaveStatus.PENDING, leaveRepository.findById(own.getId()).orElseThrow().getStatus());
+        assertEquals(LeaveStatus.APPROVED, leaveRepository.findById(decided.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void bulkApprovePublishesApprovedLeavesAndTheCalendar() throws Exception {
+        UUID staff = UUID.randomUUID();
+        Leave first = leaveRepository.save(pending(staff, 2.0, 0));
+        Leave second = leaveRepository.save(pending(staff, 1.0, 7));
+        CapturingEmitter stream = new CapturingEmitter();
+        leaveChangeBus.register(staff, stream);
+
+        leaveService.bulkApprove(List.of(first.getId(), second.getId()), "ok", "MANAGER", UUID.randomUUID(), "manager@example.com");
+
+        // Balances on subscribe, then both leaves and one calendar event for the commit
+        List<Object[]> events = stream.await(4);
+        assertEquals(List.of("balances", "leave", "leave", "calendar"), events.stream().map(e -> e[0]).toList());
+        for (Object[] leave : events.subList(1, 3)) {
+            assertEquals(LeaveStatus.APPROVED, ((LeaveChangeDto) leave[1]).getStatus());
+        }
+        List<?> calendar = (List<?>) events.get(3)[1];
+        assertEquals(2, calendar.size());
+        assertTrue(calendar.stream().allMatch(c -> ((LeaveChangeDto) c).getStatus() == LeaveStatus.APPROVED));
+    }
+
+    @Test
+    void csvImportMatchesPerRowSave() throws Exception {
+        int rows = 5_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            leaveRepository.save(pending(UUID.randomUUID(), 1.0));
+        }
+        long perRowNanos = System.nanoTime() - start;
+        assertEquals(rows, leaveRepository.count());
+        leaveRepository.deleteAll();
+
+        StringBuilder csv = new StringBuilder("userId,type,status,startDate,endDate,reason,workingDays\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(UUID.randomUUID()).append(",ANNUAL,APPROVED,2031-03-02,2031-03-03,\"history, row ")
+                    .append(i).append("\",2\n");
+        }
+        start = System.nanoTime();
+        int imported = leaveImportService.importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), "ADMIN");
+        long importNanos = System.nanoTime() - start;
+
+        log.info("Insert {} leaves: per row {} ms, CSV import {} ms", rows, perRowNanos / 1_000_000, importNanos / 1_000_000);
+        assertEquals(rows, imported);
+        assertEquals(rows, leaveRepository.count());
+    }
+
+    @Test
+    void csvImportRejectsBadRowsAndRollsBack() {
+        String csv = "userId,type,status,startDate,endDate,reason\n" +
+                UUID.randomUUID() + ",ANNUAL,APPROVED,2031-03-02,2031-03-03,fine\n" +
+                "not-a-uuid,ANNUAL,APPROVED,2031-03-02,2031-03-03,broken\n";
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> leaveImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "ADMIN"));
+        assertTrue(e.getMessage().contains("line 3"));
+        assertEquals(0, leaveRepository.count());
+    }
+
+    @Test
+    void csvImportReportsOverlappingRows() {
+        UUID staff = UUID.randomUUID();
+        String csv = "userId,type,status,startDate,endDate,reason\n" +
+                staff + ",ANNUAL,APPROVED,2031-03-02,2031-03-06,trip\n" +
+                staff + ",SICK,PENDING,2031-03-05,2031-03-05,flu\n";
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> leaveImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "ADMIN"));
+        assertTrue(e.getMessage().contains("overlaps"), e.getMessage());
+        assertEquals(0, leaveRepository.count());
+    }
+
+    // Records each event as {name, data} instead of writing it to a response
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<Object[]> events = new ArrayList<>();
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            Iterator<ResponseBodyEmitter.DataWithMediaType> parts = items.iterator();
+            String head = parts.next().getData().toString();
+            if (!head.startsWith("event:")) return; // Heartbeat
+            events.add(new Object[]{head.substring(6, head.indexOf('\n')), parts.next().getData()});
+            notifyAll();
+        }
+
+        synchronized List<Object[]> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            return new ArrayList<>(events);
+        }
+    }
+
+    private List<UUID> seedPending(int count) {
+        List<Leave> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leaves.add(pending(UUID.randomUUID(), 1.0));
+        }
+        return leaveRepository.saveAll(leaves).stream().map(Leave::getId).toList();
+    }
+
+    private static Leave pending(UUID userId, double workingDays) {
+        return pending(userId, workingDays, 0);
+    }
+
+    private static Leave pending(UUID userId, double workingDays, int offsetDays) {
+        LocalDate start = LocalDate.of(2031, 3, 3).plusDays(offsetDays);
+        return Leave.builder()
+                .userId(userId)
+                .type(LeaveType.ANNUAL)
+                .status(LeaveStatus.PENDING)
+                .startDate(start)
+                .endDate(start.plusDays((long) workingDays - 1))
+                .workingDays(workingDays)
+                .reason("bulk test")
+                .build();
+    }
+}
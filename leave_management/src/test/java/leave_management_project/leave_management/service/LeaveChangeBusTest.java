@@ -0,0 +1,152 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.config.LeaveStreamProperties;
+import leave_management_project.leave_management.dto.LeaveChangeDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LeaveChangeBusTest {
+
+    private static final LocalDate BASE = LocalDate.of(2031, 6, 2);
+
+    private LeaveBalanceLedger ledger;
+    private LeaveStreamProperties properties;
+    private final List<Runnable> held = new ArrayList<>();
+    private boolean holdSends;
+    private LeaveChangeBus bus;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ledger = mock(LeaveBalanceLedger.class);
+        when(ledger.getBalances(any())).thenReturn(Map.of(LeaveType.ANNUAL, 15.0));
+        properties = new LeaveStreamProperties();
+        Executor sender = task -> {
+            if (holdSends) held.add(task);
+            else task.run();
+        };
+        bus = new LeaveChangeBus(ledger, properties, sender);
+    }
+
+    @Test
+    void ownerGetsStatusAndBalancesAndEveryoneGetsTheCalendar() {
+        RecordingEmitter aliceStream = subscribe(alice);
+        RecordingEmitter bobStream = subscribe(bob);
+        assertEquals(List.of("balances"), aliceStream.events);
+
+        bus.dispatch(List.of(change(alice, LeaveStatus.PENDING)), null, true);
+        assertEquals(List.of("balances", "leave", "balances"), aliceStream.events);
+        assertEquals(List.of("balances"), bobStream.events);
+
+        bus.dispatch(List.of(change(alice, LeaveStatus.APPROVED)), LeaveStatus.PENDING, false);
+        assertEquals(List.of("balances", "leave", "balances", "leave", "calendar"), aliceStream.events);
+        assertEquals(List.of("balances", "calendar"), bobStream.events);
+
+        // Rejecting a pending leave does not touch the calendar
+        bus.dispatch(List.of(change(bob, LeaveStatus.REJECTED)), LeaveStatus.PENDING, true);
+        assertEquals(List.of("balances", "calendar", "leave", "balances"), bobStream.events);
+        assertEquals(5, aliceStream.events.size());
+    }
+
+    @Test
+    void bulkDecisionIsOneCalendarEventPerSubscriber() {
+        List<RecordingEmitter> streams = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) streams.add(subscribe(UUID.randomUUID()));
+
+        List<LeaveChangeDto> approved = new ArrayList<>();
+        for (int i = 0; i < 200; i++) approved.add(change(UUID.randomUUID(), LeaveStatus.APPROVED));
+        bus.dispatch(approved, LeaveStatus.PENDING, false);
+
+        for (RecordingEmitter stream : streams) {
+            assertEquals(List.of("balances", "calendar"), stream.events);
+        }
+        // Balances were only read on subscribe, never for users without a stream
+        verify(ledger, times(1_000)).getBalances(any());
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsDisconnected() {
+        properties.setMaxPending(3);
+        RecordingEmitter slow = subscribe(alice);
+        RecordingEmitter fast = subscribe(bob);
+        holdSends = true;
+
+        bus.heartbeat(); // Ran only for subscribers with nothing queued yet
+        for (int i = 0; i < 3; i++) {
+            bus.dispatch(List.of(change(alice, LeaveStatus.PENDING)), null, false);
+        }
+        assertTrue(slow.completed);
+        assertFalse(fast.completed);
+        assertEquals(1, bus.subscriberCount());
+
+        holdSends = false;
+        held.forEach(Runnable::run);
+        assertEquals(List.of("balances", "ping"), fast.events);
+    }
+
+    @Test
+    void oldestStreamOfAUserIsClosedBeyondTheLimit() {
+        properties.setMaxPerUser(2);
+        RecordingEmitter first = subscribe(alice);
+        RecordingEmitter second = subscribe(alice);
+        RecordingEmitter third = subscribe(alice);
+
+        assertTrue(first.completed);
+        assertFalse(second.completed);
+        assertFalse(third.completed);
+        assertEquals(2, bus.subscriberCount());
+    }
+
+    @Test
+    void failedSendRemovesTheSubscriber() {
+        RecordingEmitter broken = subscribe(alice);
+        broken.fail = true;
+
+        bus.dispatch(List.of(change(alice, LeaveStatus.PENDING)), null, true);
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    private RecordingEmitter subscribe(UUID userId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.register(userId, emitter);
+        return emitter;
+    }
+
+    private static LeaveChangeDto change(UUID userId, LeaveStatus status) {
+        return new LeaveChangeDto(UUID.randomUUID(), userId, LeaveType.ANNUAL, status, BASE, BASE.plusDays(2));
+    }
+
+    // Records event names (or "ping" for comments) instead of writing to a response
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new ArrayList<>();
+        boolean completed;
+        boolean fail;
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws java.io.IOException {
+            if (fail) throw new java.io.IOException("Broken pipe");
+            String text = items.iterator().next().getData().toString();
+            events.add(text.startsWith("event:") ? text.substring(6, text.indexOf('\n')) : "ping");
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveIntervalDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeaveConflictIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2031, 6, 2);
+
+    private LeaveRepository repository;
+    private LeaveConflictIndex index;
+    private final UUID user = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LeaveRepository.class);
+        index = new LeaveConflictIndex(repository);
+    }
+
+    @Test
+    void overlapsAreRefusedAndAdjacentPeriodsAllowed() {
+        UUID existing = UUID.randomUUID();
+        when(repository.findIntervalsByUserIdAndStatusIn(eq(user), anyCollection())).thenReturn(List.of(
+                new LeaveIntervalDto(existing, user, LeaveType.ANNUAL, BASE, BASE.plusDays(4))));
+        when(repository.findStatusById(existing)).thenReturn(Optional.of(LeaveStatus.APPROVED));
+
+        assertThrows(RuntimeException.class, () -> index.reserve(user, BASE.plusDays(4), BASE.plusDays(6)));
+        assertThrows(RuntimeException.class, () -> index.reserve(user, BASE.minusDays(3), BASE));
+        assertThrows(RuntimeException.class, () -> index.reserve(user, BASE.minusDays(1), BASE.plusDays(9)));
+        index.reserve(user, BASE.plusDays(5), BASE.plusDays(5));
+        index.reserve(user, BASE.minusDays(2), BASE.minusDays(1));
+
+        // The user's leaves were read once, not per check
+        verify(repository, times(1)).findIntervalsByUserIdAndStatusIn(eq(user), anyCollection());
+    }
+
+    @Test
+    void leaveDecidedElsewhereDoesNotBlock() {
+        UUID rejected = UUID.randomUUID();
+        when(repository.findIntervalsByUserIdAndStatusIn(eq(user), anyCollection())).thenReturn(List.of(
+                new LeaveIntervalDto(rejected, user, LeaveType.ANNUAL, BASE, BASE.plusDays(4))));
+        when(repository.findStatusById(rejected)).thenReturn(Optional.of(LeaveStatus.REJECTED));
+
+        index.reserve(user, BASE.plusDays(1), BASE.plusDays(2));
+        assertThrows(RuntimeException.class, () -> index.reserve(user, BASE, BASE.plusDays(1)));
+    }
+
+    @Test
+    void releasedPeriodCanBeReservedAgain() {
+        when(repository.findIntervalsByUserIdAndStatusIn(eq(user), anyCollection())).thenReturn(List.of());
+        UUID leaveId = UUID.randomUUID();
+        when(repository.findStatusById(leaveId)).thenReturn(Optional.of(LeaveStatus.PENDING));
+
+        index.reserve(user, BASE, BASE.plusDays(2)).bind(leaveId);
+        assertThrows(RuntimeException.class, () -> index.reserve(user, BASE, BASE));
+
+        index.release(user, leaveId);
+        index.reserve(user, BASE, BASE);
+    }
+
+    @Test
+    void concurrentOverlappingRequestsLetExactlyOneThrough() throws Exception {
+        when(repository.findIntervalsByUserIdAndStatusIn(eq(user), anyCollection())).thenReturn(List.of());
+        int requests = 64;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                LocalDate start = BASE.plusDays(i % 3);
+                results.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        index.reserve(user, start, start.plusDays(3));
+                        accepted.incrementAndGet();
+                    } catch (RuntimeException expected) {
+                        // overlaps the winner
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> result : results) result.get();
+        }
+        assertEquals(1, accepted.get());
+    }
+}
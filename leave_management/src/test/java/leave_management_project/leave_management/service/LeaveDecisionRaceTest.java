@@ -0,0 +1,107 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two managers decide every leave at the same moment, one approving and one rejecting; latencies are logged, not asserted
+@Slf4j
+@SpringBootTest(properties = "notification.enabled=false")
+class LeaveDecisionRaceTest extends PostgresIntegrationTest {
+
+    private static final int LEAVES = 200;
+    private static final LocalDate START = LocalDate.of(2031, 3, 3); // A Monday; each leave takes Mon-Wed
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private LeaveBalanceLedger leaveBalanceLedger;
+
+    @Test
+    void concurrentApproveAndRejectDecideEachLeaveOnce() throws Exception {
+        List<Leave> leaves = new ArrayList<>();
+        for (int i = 0; i < LEAVES; i++) {
+            leaves.add(leaveService.applyLeave(UUID.randomUUID(), null, LeaveType.ANNUAL, START, START.plusDays(2), "race", null));
+        }
+
+        Map<UUID, LeaveStatus> winners = new ConcurrentHashMap<>();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Queue<String> refusals = new ConcurrentLinkedQueue<>();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService managers = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Leave leave : leaves) {
+                for (LeaveStatus decision : List.of(LeaveStatus.APPROVED, LeaveStatus.REJECTED)) {
+                    results.add(managers.submit(() -> {
+                        go.await();
+                        long start = System.nanoTime();
+                        try {
+                            if (decision == LeaveStatus.APPROVED) {
+                                leaveService.approveLeave(leave.getId(), "ok", "MANAGER", "a@example.com", null);
+                            } else {
+                                leaveService.rejectLeave(leave.getId(), "no", "MANAGER", "b@example.com", null);
+                            }
+                            assertNull(winners.putIfAbsent(leave.getId(), decision), "decided twice");
+                        } catch (RuntimeException e) {
+                            refusals.add(e.getMessage());
+                        } finally {
+                            latencies.add(System.nanoTime() - start);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            go.countDown();
+            for (Future<?> result : results) result.get(60, TimeUnit.SECONDS);
+        } finally {
+            managers.shutdownNow();
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        log.info("Contended decisions: {}, p50 {} µs, p99 {} µs", sorted.length,
+                sorted[sorted.length / 2] / 1_000, sorted[sorted.length * 99 / 100] / 1_000);
+
+        assertEquals(LEAVES, winners.size());
+        assertEquals(LEAVES, refusals.size());
+        assertTrue(refusals.stream().allMatch(m -> m.startsWith("Leave is already")), refusals.toString());
+        for (Leave leave : leaves) {
+            LeaveStatus winner = winners.get(leave.getId());
+            Leave stored = leaveRepository.findById(leave.getId()).orElseThrow();
+            assertEquals(winner, stored.getStatus());
+            assertEquals(1, stored.getVersion());
+            // An approved leave keeps its deduction; a rejected one is refunded exactly once
+            double expected = winner == LeaveStatus.APPROVED ? 7.0 : 10.0;
+            assertEquals(expected, leaveBalanceLedger.getBalance(leave.getUserId(), LeaveType.ANNUAL), 1e-9);
+        }
+    }
+
+    @Test
+    void decidedLeaveCannotBeDecidedAgain() throws Exception {
+        Leave leave = leaveService.applyLeave(UUID.randomUUID(), null, LeaveType.ANNUAL, START, START.plusDays(2), "once", null);
+        leaveService.approveLeave(leave.getId(), "ok", "MANAGER", "a@example.com", null);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> leaveService.rejectLeave(leave.getId(), "no", "MANAGER", "b@example.com", null));
+        assertEquals("Leave is already APPROVED and cannot be REJECTED", e.getMessage());
+        assertEquals(7.0, leaveBalanceLedger.getBalance(leave.getUserId(), LeaveType.ANNUAL), 1e-9);
+        assertThrows(RuntimeException.class,
+                () -> leaveService.approveLeave(UUID.randomUUID(), "ok", "MANAGER", "a@example.com", null));
+    }
+}
@@ -0,0 +1,74 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.dto.EventReplayReportDto;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 1M events for 10k users replayed from Postgres, with and without a snapshot; the full replay has a 15 s budget
+@Slf4j
+@SpringBootTest(properties = {
+        "notification.enabled=false",
+        "carryover.enabled=false",
+        "events.snapshot-min-events=1"
+})
+class LeaveEventReplayTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 10_000;
+    private static final int EVENTS = 1_000_000;
+
+    @Autowired
+    private LeaveEventReplay leaveEventReplay;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void replaysAMillionEventsAndRepairsDrift() {
+        // Every user ends at 50 ANNUAL days; user 0's row has drifted to 49
+        jdbc.execute("INSERT INTO leave_event (seq, occurred_at, event_type, user_id, leave_type, balance_delta) " +
+                "SELECT nextval('leave_event_seq'), now(), 'BALANCE_ADJUSTED', md5('replay' || (g % " + USERS + "))::uuid, " +
+                "'ANNUAL', 0.5 FROM generate_series(1, " + EVENTS + ") AS g");
+        jdbc.execute("INSERT INTO leave_balance (id, user_id, type, balance, carryover) " +
+                "SELECT gen_random_uuid(), md5('replay' || g)::uuid, 'ANNUAL', CASE WHEN g = 0 THEN 49 ELSE 50 END, 0 " +
+                "FROM generate_series(0, " + (USERS - 1) + ") AS g");
+        UUID drifted = jdbc.queryForObject("SELECT md5('replay0')::uuid", UUID.class);
+
+        long started = System.nanoTime();
+        LeaveState full = leaveEventReplay.replay();
+        long fullMillis = (System.nanoTime() - started) / 1_000_000;
+
+        leaveEventReplay.snapshot();
+        started = System.nanoTime();
+        LeaveState fromSnapshot = leaveEventReplay.replay();
+        long snapshotMillis = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("Replay of {} events: {} ms from scratch, {} ms from a snapshot", full.events(), fullMillis, snapshotMillis);
+        assertTrue(full.events() >= EVENTS);
+        assertTrue(fullMillis < 15_000, "replay took " + fullMillis + " ms");
+        assertEquals(full.events(), fromSnapshot.events());
+        assertEquals(50.0, fromSnapshot.balance(drifted, LeaveType.ANNUAL), 1e-9);
+
+        EventReplayReportDto dryRun = leaveEventReplay.rebuild(false, "ADMIN");
+        assertEquals(1, dryRun.getBalancesDrifted());
+        assertEquals(49.0, balance(drifted), 1e-9);
+
+        leaveEventReplay.rebuild(true, "ADMIN");
+        assertEquals(50.0, balance(drifted), 1e-9);
+        assertEquals(0, leaveEventReplay.rebuild(false, "ADMIN").getBalancesDrifted());
+        assertThrows(RuntimeException.class, () -> leaveEventReplay.rebuild(false, "MANAGER"));
+    }
+
+    private double balance(UUID userId) {
+        return jdbc.queryForObject("SELECT balance FROM leave_balance WHERE user_id = ? AND type = 'ANNUAL'",
+                Double.class, userId);
+    }
+}
@@ -0,0 +1,66 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.dto.LeaveExportRow;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaveExportFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rowsRoundTripAcrossWindows() throws Exception {
+        Path file = dir.resolve("leaves.lvx");
+        List<LeaveExportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new LeaveExportRow(UUID.randomUUID(), UUID.randomUUID(),
+                    LeaveType.values()[i % LeaveType.values().length],
+                    LeaveStatus.values()[i % LeaveStatus.values().length],
+                    LocalDate.of(2031, 3, 3).plusDays(i), LocalDate.of(2031, 3, 5).plusDays(i), 2.5));
+        }
+        // Imported history may lack working days and even dates
+        rows.add(new LeaveExportRow(UUID.randomUUID(), UUID.randomUUID(), null, null, null, null, null));
+
+        // Windows of four rows, so the rows span three of them
+        try (LeaveExportFile.Writer writer = new LeaveExportFile.Writer(file, 4)) {
+            for (LeaveExportRow row : rows) writer.write(row);
+        }
+        try (LeaveExportFile.Reader reader = new LeaveExportFile.Reader(file, 4)) {
+            assertEquals(rows.size(), reader.size());
+            List<LeaveExportRow> read = new ArrayList<>();
+            reader.forEach(read::add);
+            assertEquals(rows, read);
+            assertEquals(rows.get(9), reader.get(9));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.get(rows.size()));
+        }
+        // Trimmed to the rows written, not to the last window
+        long header = Files.size(file) - (long) rows.size() * LeaveExportFile.ROW_BYTES;
+        assertTrue(header > 0 && header < 256, "header of " + header + " bytes");
+    }
+
+    @Test
+    void emptyExportAndForeignFiles() throws Exception {
+        Path empty = dir.resolve("empty.lvx");
+        LeaveExportFile.create(empty).close();
+        try (LeaveExportFile.Reader reader = LeaveExportFile.open(empty)) {
+            assertEquals(0, reader.size());
+            reader.forEach(row -> fail("no rows expected"));
+        }
+
+        Path json = Files.writeString(dir.resolve("leaves.json"), "[{\"id\":\"not binary\"}]");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> LeaveExportFile.open(json));
+        assertTrue(e.getMessage().startsWith("Not a leave export file"));
+    }
+}
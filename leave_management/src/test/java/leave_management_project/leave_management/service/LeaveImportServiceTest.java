@@ -0,0 +1,34 @@
+package leave_management_project.leave_management.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+
+import java.sql.BatchUpdateException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaveImportServiceTest {
+
+    @Test
+    void exclusionViolationsAreNamedFromTheServerMessage() {
+        BatchUpdateException batch = new BatchUpdateException("Batch entry 0 was aborted", "23P01", new int[0]);
+        batch.setNextException(serverError("23P01", "ex_leaves_user_no_overlap"));
+        ConstraintViolationException e = new ConstraintViolationException("could not execute batch", batch, "insert", null);
+
+        assertEquals(LeaveImportService.NO_OVERLAP_CONSTRAINT, LeaveImportService.constraintName(e));
+    }
+
+    @Test
+    void constraintNamedByHibernateIsKept() {
+        ConstraintViolationException e = new ConstraintViolationException("could not execute statement",
+                serverError("23514", "ck_leaves_end_after_start"), "insert", "ck_leaves_end_after_start");
+
+        assertEquals("ck_leaves_end_after_start", LeaveImportService.constraintName(e));
+    }
+
+    private static PSQLException serverError(String sqlState, String constraint) {
+        return new PSQLException(new ServerErrorMessage("SERROR\0C" + sqlState + "\0Mviolation\0n" + constraint + "\0"));
+    }
+}
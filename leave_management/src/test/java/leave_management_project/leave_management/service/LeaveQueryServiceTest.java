@@ -0,0 +1,103 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.Repository.LeaveRepository;
+import leave_management_project.leave_management.dto.LeaveFilterDto;
+import leave_management_project.leave_management.dto.LeaveListItem;
+import leave_management_project.leave_management.dto.LeavePageDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LeaveQueryServiceTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 1_234;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private LeaveQueryService leaveQueryService;
+
+    @BeforeEach
+    void seed() {
+        leaveRepository.deleteAll();
+        List<Leave> leaves = new ArrayList<>();
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate start = base.plusDays(i % 200); // many rows share a start date
+            leaves.add(Leave.builder()
+                    .userId(UUID.randomUUID())
+                    .type(i % 2 == 0 ? LeaveType.ANNUAL : LeaveType.SICK)
+                    .status(i % 3 == 0 ? LeaveStatus.APPROVED : LeaveStatus.PENDING)
+                    .startDate(start)
+                    .endDate(start.plusDays(2))
+                    .reason("seed " + i)
+                    .build());
+        }
+        leaveRepository.saveAll(leaves);
+    }
+
+    @Test
+    void keysetPagesVisitEveryRowOnceInOrder() {
+        List<LeaveListItem> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            LeavePageDto page = leaveQueryService.getPage(new LeaveFilterDto(), cursor, 100);
+            assertTrue(page.getItems().size() <= 100);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(ROWS, seen.size());
+        assertEquals(ROWS, new HashSet<>(seen.stream().map(LeaveListItem::getId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            LeaveListItem previous = seen.get(i - 1);
+            LeaveListItem current = seen.get(i);
+            int byDate = previous.getStartDate().compareTo(current.getStartDate());
+            // Postgres orders uuids bytewise, which matches their hex strings (UUID.compareTo is signed)
+            assertTrue(byDate < 0 || (byDate == 0 && previous.getId().toString().compareTo(current.getId().toString()) < 0));
+        }
+    }
+
+    @Test
+    void filtersApplyToPages() {
+        LeaveFilterDto filter = new LeaveFilterDto(null, LeaveStatus.APPROVED, LeaveType.ANNUAL,
+                LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 10));
+
+        LeavePageDto page = leaveQueryService.getPage(filter, null, 500);
+
+        assertFalse(page.getItems().isEmpty());
+        for (LeaveListItem leave : page.getItems()) {
+            assertEquals(LeaveStatus.APPROVED, leave.getStatus());
+            assertEquals(LeaveType.ANNUAL, leave.getType());
+            assertFalse(leave.getStartDate().isAfter(filter.getTo()));
+            assertFalse(leave.getEndDate().isBefore(filter.getFrom()));
+        }
+    }
+
+    @Test
+    void streamWritesOneJsonLinePerRow() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        leaveQueryService.streamNdjson(new LeaveFilterDto(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"startDate\""));
+        // List columns only: free text stays on the single-leave endpoints
+        assertFalse(lines[0].contains("\"reason\""));
+    }
+}
@@ -0,0 +1,131 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.enumClass.LeaveEventType;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.LeaveEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class LeaveStateTest {
+
+    private static final Instant NOW = Instant.parse("2031-01-01T00:00:00Z");
+
+    private final UUID user = UUID.randomUUID();
+
+    @Test
+    void foldsStatusesAndBalances() {
+        UUID approved = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        LeaveState state = new LeaveState();
+
+        state.apply(event(LeaveEventType.BALANCE_ADJUSTED, user, null, LeaveType.ANNUAL, 20.0, 0.0));
+        state.apply(event(LeaveEventType.APPLIED, user, approved, LeaveType.ANNUAL, -5.0, 0.0));
+        state.apply(event(LeaveEventType.APPROVED, user, approved, LeaveType.ANNUAL, 0.0, 0.0));
+        state.apply(event(LeaveEventType.APPLIED, user, rejected, LeaveType.ANNUAL, -3.0, 0.0));
+        state.apply(event(LeaveEventType.REJECTED, user, rejected, LeaveType.ANNUAL, 3.0, 0.0));
+        state.apply(event(LeaveEventType.CARRIED_OVER, user, null, LeaveType.ANNUAL, -15.0, 1.5));
+
+        assertEquals(6, state.events());
+        assertEquals(0.0, state.balance(user, LeaveType.ANNUAL));
+        assertEquals(1.5, state.carryover(user, LeaveType.ANNUAL));
+        assertEquals(0.0, state.balance(user, LeaveType.SICK));
+        assertEquals(0.0, state.balance(UUID.randomUUID(), LeaveType.ANNUAL));
+        assertEquals(LeaveStatus.APPROVED, state.leave(approved).status());
+        assertEquals(LeaveStatus.REJECTED, state.leave(rejected).status());
+        assertEquals(user, state.leave(rejected).userId());
+        assertNull(state.leave(UUID.randomUUID()));
+    }
+
+    @Test
+    void snapshotRoundTripsAndReplayContinuesFromIt() {
+        List<LeaveEvent> events = randomEvents(20_000);
+        LeaveState whole = new LeaveState();
+        LeaveState head = new LeaveState();
+        for (int i = 0; i < events.size(); i++) {
+            whole.apply(events.get(i));
+            if (i < events.size() / 2) head.apply(events.get(i));
+        }
+
+        LeaveState resumed = LeaveState.fromBytes(head.toBytes());
+        events.subList(events.size() / 2, events.size()).forEach(resumed::apply);
+
+        assertEquals(whole.events(), resumed.events());
+        assertEquals(whole.leaveCount(), resumed.leaveCount());
+        for (UUID userId : whole.users()) {
+            for (LeaveType type : LeaveType.values()) {
+                assertEquals(whole.balance(userId, type), resumed.balance(userId, type), 1e-9);
+                assertEquals(whole.carryover(userId, type), resumed.carryover(userId, type), 1e-9);
+            }
+        }
+        for (LeaveEvent event : events) {
+            if (event.getLeaveId() != null) {
+                assertEquals(whole.leave(event.getLeaveId()), resumed.leave(event.getLeaveId()));
+            }
+        }
+    }
+
+    // The in-memory half of a replay; the budget leaves ample room for a slow CI machine
+    @Test
+    void foldsAMillionEventsWithinBudget() {
+        List<LeaveEvent> events = randomEvents(1_000_000);
+        LeaveState state = new LeaveState();
+        long started = System.nanoTime();
+        events.forEach(state::apply);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("Folded {} events in {} ms ({} leaves)", state.events(), elapsedMillis, state.leaveCount());
+        assertEquals(1_000_000, state.events());
+        assertTrue(elapsedMillis < 2_000, "fold took " + elapsedMillis + " ms");
+    }
+
+    // 10k users; each leave is applied then, most of the time, decided
+    private static List<LeaveEvent> randomEvents(int count) {
+        Random random = new Random(42);
+        UUID[] users = new UUID[10_000];
+        for (int i = 0; i < users.length; i++) users[i] = new UUID(0, i);
+        LeaveType[] types = LeaveType.values();
+
+        List<LeaveEvent> events = new ArrayList<>(count);
+        while (events.size() < count) {
+            UUID userId = users[random.nextInt(users.length)];
+            LeaveType type = types[random.nextInt(types.length)];
+            int roll = random.nextInt(10);
+            if (roll == 0) {
+                events.add(event(LeaveEventType.BALANCE_ADJUSTED, userId, null, type, random.nextInt(20), 0.0));
+                continue;
+            }
+            UUID leaveId = new UUID(1, events.size());
+            double days = 1 + random.nextInt(5);
+            events.add(event(LeaveEventType.APPLIED, userId, leaveId, type, -days, 0.0));
+            if (events.size() < count && roll < 7) {
+                events.add(event(LeaveEventType.APPROVED, userId, leaveId, type, 0.0, 0.0));
+            } else if (events.size() < count && roll < 9) {
+                events.add(event(LeaveEventType.REJECTED, userId, leaveId, type, days, 0.0));
+            }
+        }
+        return events;
+    }
+
+    private static LeaveEvent event(LeaveEventType type, UUID userId, UUID leaveId, LeaveType leaveType,
+                                    double balanceDelta, double carryoverDelta) {
+        return LeaveEvent.builder()
+                .occurredAt(NOW)
+                .type(type)
+                .userId(userId)
+                .leaveId(leaveId)
+                .leaveType(leaveType)
+                .balanceDelta(balanceDelta)
+                .carryoverDelta(carryoverDelta)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.Repository.LeaveDaysTakenRepository;
+import leave_management_project.leave_management.Repository.LeaveSummaryRepository;
+import leave_management_project.leave_management.dto.LeaveSummaryDto;
+import leave_management_project.leave_management.enumClass.LeaveStatus;
+import leave_management_project.leave_management.enumClass.LeaveType;
+import leave_management_project.leave_management.model.Leave;
+import leave_management_project.leave_management.model.LeaveDaysTaken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "notification.enabled=false")
+class LeaveSummaryProjectionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveImportService leaveImportService;
+
+    @Autowired
+    private LeaveSummaryProjection leaveSummaryProjection;
+
+    @Autowired
+    private LeaveSummaryRepository leaveSummaryRepository;
+
+    @Autowired
+    private LeaveDaysTakenRepository leaveDaysTakenRepository;
+
+    @Test
+    void summaryFollowsApplyApproveAndReject() throws Exception {
+        UUID staff = UUID.randomUUID();
+        LocalDate monday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        Leave later = leaveService.applyLeave(staff, null, LeaveType.ANNUAL, monday.plusWeeks(1), monday.plusWeeks(1).plusDays(1), "later", null);
+        Leave sooner = leaveService.applyLeave(staff, null, LeaveType.ANNUAL, monday, monday.plusDays(2), "sooner", null);
+
+        LeaveSummaryDto summary = leaveService.getMySummary(staff);
+        assertEquals(2, summary.getPendingCount());
+        assertEquals(sooner.getId(), summary.getNextLeave().getId());
+
+        leaveService.approveLeave(later.getId(), "ok", "MANAGER", "manager@example.com", null);
+        leaveService.rejectLeave(sooner.getId(), "no", "MANAGER", "manager@example.com", null);
+
+        summary = leaveService.getMySummary(staff);
+        assertEquals(0, summary.getPendingCount());
+        assertEquals(later.getId(), summary.getNextLeave().getId());
+        assertEquals(LeaveStatus.APPROVED, summary.getNextLeave().getStatus());
+        assertEquals(2.0, daysTaken(staff, later.getStartDate().getYear()), 1e-9);
+    }
+
+    @Test
+    void importedLeavesAreCounted() throws Exception {
+        UUID staff = UUID.randomUUID();
+        String csv = "userId,type,status,startDate,endDate,reason,workingDays\n" +
+                staff + ",SICK,APPROVED,2030-01-07,2030-01-08,flu,2\n" +
+                staff + ",SICK,APPROVED,2030-02-04,2030-02-04,flu,1\n" +
+                staff + ",ANNUAL,PENDING,2099-06-01,2099-06-05,trip,5\n";
+
+        leaveImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "ADMIN");
+
+        assertEquals(1, leaveSummaryRepository.findById(staff).orElseThrow().getPendingCount());
+        assertEquals(LocalDate.of(2099, 6, 1), leaveService.getMySummary(staff).getNextLeave().getStartDate());
+        assertEquals(3.0, daysTaken(staff, 2030), 1e-9);
+    }
+
+    @Test
+    void rebuildClearsFiguresWithNothingLeftBehindThem() {
+        UUID staff = UUID.randomUUID();
+        leaveSummaryRepository.addToPending(staff, 2);
+        leaveDaysTakenRepository.addDays(staff, 2030, LeaveType.SICK.name(), 4.0);
+
+        leaveSummaryProjection.rebuild(List.of(staff));
+
+        assertEquals(0, leaveSummaryRepository.findById(staff).orElseThrow().getPendingCount());
+        assertTrue(leaveDaysTakenRepository.findByUserIdAndYear(staff, 2030).isEmpty());
+    }
+
+    private double daysTaken(UUID userId, int year) {
+        List<LeaveDaysTaken> rows = leaveDaysTakenRepository.findByUserIdAndYear(userId, year);
+        return rows.stream().mapToDouble(LeaveDaysTaken::getDays).sum();
+    }
+}
@@ -0,0 +1,117 @@
+package leave_management_project.leave_management.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leave_management_project.leave_management.Repository.EmailOutboxRepository;
+import leave_management_project.leave_management.config.NotificationProperties;
+import leave_management_project.leave_management.enumClass.EmailStatus;
+import leave_management_project.leave_management.model.EmailOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository repository;
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = mock(EmailOutboxRepository.class);
+        when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        properties = new NotificationProperties();
+        properties.setMaxAttempts(2);
+    }
+
+    @Test
+    void batchIsDeliveredToSmtpServer() {
+        List<EmailOutbox> batch = outboxRows(5);
+        when(repository.lockDue(anyCollection(), any())).thenReturn(batch);
+
+        dispatcher(ServerSetupTest.SMTP.getPort()).processBatch(ids(batch));
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertTrue(batch.stream().allMatch(row -> row.getStatus() == EmailStatus.SENT));
+        assertEquals(5, meterRegistry.get("mail.messages").tag("outcome", "sent").counter().count());
+        assertEquals(1, meterRegistry.get("mail.send").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void failedSendIsRetriedWithBackoffThenMarkedFailed() {
+        List<EmailOutbox> batch = outboxRows(3);
+        when(repository.lockDue(anyCollection(), any())).thenReturn(batch);
+        NotificationDispatcher unreachable = dispatcher(1); // nothing listens on port 1
+
+        Instant before = Instant.now();
+        unreachable.processBatch(ids(batch));
+
+        for (EmailOutbox row : batch) {
+            assertEquals(EmailStatus.PENDING, row.getStatus());
+            assertEquals(1, row.getAttempts());
+            assertFalse(row.getNextAttemptAt().isBefore(before.plus(properties.getInitialBackoff())));
+        }
+
+        batch.forEach(row -> row.setNextAttemptAt(Instant.now()));
+        unreachable.processBatch(ids(batch));
+
+        assertTrue(batch.stream().allMatch(row -> row.getStatus() == EmailStatus.FAILED));
+        assertEquals(3, meterRegistry.get("mail.messages").tag("outcome", "retried").counter().count());
+        assertEquals(3, meterRegistry.get("mail.messages").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        properties.setInitialBackoff(Duration.ofSeconds(5));
+        properties.setMaxBackoff(Duration.ofSeconds(30));
+        NotificationDispatcher dispatcher = dispatcher(1);
+
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(10));
+    }
+
+    private NotificationDispatcher dispatcher(int smtpPort) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(smtpPort);
+        return new NotificationDispatcher(repository, sender, properties, mock(PlatformTransactionManager.class),
+                meterRegistry);
+    }
+
+    private static List<EmailOutbox> outboxRows(int count) {
+        List<EmailOutbox> rows = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> rows.add(EmailOutbox.builder()
+                .id(UUID.randomUUID())
+                .recipient("user" + i + "@example.com")
+                .subject("Leave Applied")
+                .body("Your leave request has been submitted.")
+                .status(EmailStatus.PENDING)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build()));
+        return rows;
+    }
+
+    private static List<UUID> ids(List<EmailOutbox> rows) {
+        return rows.stream().map(EmailOutbox::getId).toList();
+    }
+}
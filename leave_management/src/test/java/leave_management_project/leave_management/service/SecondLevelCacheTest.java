@@ -0,0 +1,74 @@
+package leave_management_project.leave_management.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.model.PublicHoliday;
+import leave_management_project.leave_management.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts JDBC statements to show which reads the second-level and query caches absorb
+@SpringBootTest(properties = {"notification.enabled=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void upcomingHolidaysAreServedFromCacheUntilOneIsAdded() {
+        leaveService.addPublicHoliday(new PublicHoliday(null, "Founders Day", LocalDate.now().plusDays(30)), "ADMIN");
+        leaveService.getUpcomingPublicHolidays(); // fills the cache
+
+        long before = statistics.getPrepareStatementCount();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, leaveService.getUpcomingPublicHolidays().size());
+        }
+        assertEquals(before, statistics.getPrepareStatementCount());
+
+        leaveService.addPublicHoliday(new PublicHoliday(null, "Harvest Day", LocalDate.now().plusDays(60)), "ADMIN");
+        assertEquals(2, leaveService.getUpcomingPublicHolidays().size());
+    }
+
+    @Test
+    void loginLookupsHitTheCacheAndRegistrationEvicts() {
+        String email = UUID.randomUUID() + "@example.com";
+        assertFalse(userService.existsByEmail(email));
+
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setRole("STAFF");
+        userService.registerUser(user);
+
+        assertTrue(userService.existsByEmail(email)); // the cached "absent" result was evicted
+        long before = statistics.getPrepareStatementCount();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(userService.findByEmail(email).isPresent());
+        }
+        assertEquals(before, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+}
@@ -0,0 +1,65 @@
+package leave_management_project.leave_management.service;
+
+import leave_management_project.leave_management.PostgresIntegrationTest;
+import leave_management_project.leave_management.Repository.CarryoverRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 100k users through the year-end job; runtime and throughput are logged, not asserted
+@Slf4j
+@SpringBootTest(properties = {
+        "notification.enabled=false",
+        "carryover.enabled=false",
+        "carryover.rules.ANNUAL.fraction=0.5",
+        "carryover.rules.ANNUAL.cap=3",
+        "carryover.rules.SICK.fraction=1.0"
+})
+class YearEndCarryoverTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 100_000;
+    private static final int YEAR = 2040;
+
+    @Autowired
+    private YearEndCarryover yearEndCarryover;
+
+    @Autowired
+    private CarryoverRunRepository carryoverRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void carriesEveryUserOverOnceAndResumesAfterACrash() {
+        jdbc.execute("INSERT INTO leave_balance (id, user_id, type, balance, carryover) " +
+                "SELECT gen_random_uuid(), md5('carryover' || g)::uuid, t.type, t.balance, 0 " +
+                "FROM generate_series(1, " + USERS + ") AS g, " +
+                "(VALUES ('ANNUAL', 8.0), ('SICK', 2.0), ('PTO', 4.0)) AS t(type, balance)");
+
+        // A previous attempt that crashed after committing the first 10k users
+        jdbc.execute("INSERT INTO carryover_run (year, started_at, users) VALUES (" + YEAR + ", now(), 0)");
+        jdbc.execute("INSERT INTO carryover_applied (year, user_id, applied_at) " +
+                "SELECT " + YEAR + ", md5('carryover' || g)::uuid, now() FROM generate_series(1, 10000) AS g");
+
+        YearEndCarryover.Report report = yearEndCarryover.run(YEAR);
+
+        log.info("Carryover of {} users: {} ms, {} users/s",
+                report.users(), report.elapsed().toMillis(), Math.round(report.usersPerSecond()));
+        assertEquals(USERS - 10_000, report.users());
+        assertEquals(USERS, carryoverRunRepository.findById(YEAR).orElseThrow().getUsers());
+        assertEquals(USERS - 10_000, count("type = 'ANNUAL' AND balance = 0 AND carryover = 3"));
+        assertEquals(USERS - 10_000, count("type = 'SICK' AND balance = 0 AND carryover = 2"));
+        assertEquals(USERS, count("type = 'PTO' AND balance = 4")); // no rule, untouched
+        assertEquals(10_000, count("type = 'ANNUAL' AND balance = 8")); // claimed before the crash
+
+        assertEquals(0, yearEndCarryover.run(YEAR).users());
+    }
+
+    private long count(String where) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM leave_balance WHERE " + where, Long.class);
+    }
+}